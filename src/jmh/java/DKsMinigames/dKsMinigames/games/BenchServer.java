@@ -0,0 +1,24 @@
+package DKsMinigames.dKsMinigames.games;
+
+import DKsMinigames.dKsMinigames.DKsMinigames;
+import org.mockbukkit.mockbukkit.MockBukkit;
+import org.mockbukkit.mockbukkit.ServerMock;
+
+/**
+ * The mock server the benchmarks run against: MockBukkit with the config's arena world and
+ * the plugin enabled, so maps, stores and sidebars see the same config and blocks as in game.
+ * One per benchmark trial; the scheduler is never advanced, so the plugin's own games stay idle.
+ */
+public final class BenchServer {
+    private BenchServer() {}
+
+    public static DKsMinigames start() {
+        ServerMock server = MockBukkit.mock(new ArenaServerMock());
+        server.addWorld(new ArenaServerMock.ArenaWorld()); // before the plugin, so the config resolves to it
+        return MockBukkit.load(DKsMinigames.class);
+    }
+
+    public static void stop() {
+        MockBukkit.unmock();
+    }
+}
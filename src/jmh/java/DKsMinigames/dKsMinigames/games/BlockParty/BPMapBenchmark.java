@@ -0,0 +1,69 @@
+package DKsMinigames.dKsMinigames.games.BlockParty;
+
+import DKsMinigames.dKsMinigames.games.BenchServer;
+import DKsMinigames.dKsMinigames.utils.TickBudget;
+import DKsMinigames.dKsMinigames.utils.TickProfiler;
+import org.bukkit.Material;
+import org.bukkit.plugin.Plugin;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The BlockParty floor on the first configured arena: a full pattern render, a collapse to one
+ * colour, and reading a pattern file. The budget finishes each job on submit, so one call is one
+ * whole floor rather than one tick's slice of it.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class BPMapBenchmark {
+    private BPMap map;
+    private List<Material> materials;
+
+    /** A freshly drawn floor for each collapse, so every call has tiles to clear. */
+    @State(Scope.Thread)
+    public static class Drawn {
+        Material keep;
+
+        // Per-invocation setup is timed out of the result; a collapse is long enough for that to be sound.
+        @Setup(Level.Invocation)
+        public void draw(BPMapBenchmark b) {
+            var r = ThreadLocalRandom.current();
+            b.map.show(r.nextInt(b.map.getPatternCount()), true);
+            keep = b.materials.get(r.nextInt(b.materials.size()));
+        }
+    }
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        Plugin plugin = BenchServer.start();
+        map = new BPMap(plugin, 0, TickBudget.immediate(plugin, new TickProfiler()));
+        materials = map.getMaterials();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        BenchServer.stop();
+    }
+
+    @Benchmark
+    public boolean show() {
+        return map.show(ThreadLocalRandom.current().nextInt(map.getPatternCount()), true);
+    }
+
+    @Benchmark
+    public void collapseTo(Drawn d) {
+        map.collapseTo(d.keep);
+    }
+
+    @Benchmark
+    public List<String> loadLines() {
+        return map.loadLines("BPPatterns/Pattern" + ThreadLocalRandom.current().nextInt(map.getPatternCount()) + ".txt");
+    }
+}
@@ -0,0 +1,84 @@
+package DKsMinigames.dKsMinigames.games.ElectricFloor;
+
+import DKsMinigames.dKsMinigames.games.BenchServer;
+import DKsMinigames.dKsMinigames.utils.ConfigHelper;
+import DKsMinigames.dKsMinigames.utils.ConfigSnapshot;
+import DKsMinigames.dKsMinigames.utils.TickBudget;
+import DKsMinigames.dKsMinigames.utils.TickProfiler;
+import org.bukkit.Location;
+import org.bukkit.Material;
+import org.bukkit.World;
+import org.bukkit.plugin.Plugin;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The ElectricFloor map on the first configured arena with {@code damage}% of its tiles already
+ * fallen, to see how a step and the nearest-tile search degrade as the floor breaks up.
+ * The floor is repainted and holed again before every iteration.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class EFMapBenchmark {
+    private static final int SPOTS = 1024; // precomputed positions, cycled, so the timed call is only the map
+    private static final int WALKERS = 64;
+
+    @Param({ "0", "30", "70" })
+    public int damage;
+
+    private Plugin plugin;
+    private EFMap map;
+    private ConfigSnapshot.Floor floor;
+    private final Location[] spots = new Location[SPOTS];
+    private final UUID[] walkers = new UUID[WALKERS];
+    private int tick = 0;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        plugin = BenchServer.start();
+        map = new EFMap(plugin, 0, new TickProfiler(), TickBudget.immediate(plugin, new TickProfiler()));
+        floor = new ConfigHelper(plugin).getArena("ElectricFloor", 0).floor();
+        var r = ThreadLocalRandom.current();
+        for (int i = 0; i < SPOTS; i++) {
+            spots[i] = new Location(floor.world(), r.nextInt(floor.minX(), floor.maxX() + 1) + 0.5, floor.y() + 1,
+                    r.nextInt(floor.minZ(), floor.maxZ() + 1) + 0.5);
+        }
+        for (int i = 0; i < WALKERS; i++) walkers[i] = UUID.randomUUID();
+    }
+
+    @Setup(Level.Iteration)
+    public void breakFloor() {
+        map.reset();
+        double holes = damage / 100.0;
+        var r = ThreadLocalRandom.current();
+        World w = floor.world();
+        for (int x = floor.minX(); x <= floor.maxX(); x++) {
+            for (int z = floor.minZ(); z <= floor.maxZ(); z++) {
+                if (r.nextDouble() < holes) w.getBlockAt(x, floor.y(), z).setType(Material.AIR, false);
+            }
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        BenchServer.stop();
+    }
+
+    @Benchmark
+    public Location nearestTile() {
+        return map.nearestExistingTileAtArenaY(spots[++tick & (SPOTS - 1)]);
+    }
+
+    @Benchmark
+    public boolean step() {
+        int t = ++tick;
+        return map.step(walkers[t & (WALKERS - 1)], spots[t & (SPOTS - 1)], t);
+    }
+}
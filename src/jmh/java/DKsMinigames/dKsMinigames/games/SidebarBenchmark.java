@@ -0,0 +1,73 @@
+package DKsMinigames.dKsMinigames.games;
+
+import DKsMinigames.dKsMinigames.utils.Sidebar;
+import net.kyori.adventure.text.Component;
+import org.bukkit.Bukkit;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * One scoreboard flush with {@code members} viewers: a member scores, the shared table is read
+ * off the standings and every viewer's sidebar is rendered, as {@link Minigame} does once a tick.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SidebarBenchmark {
+    private static final int ROWS = Sidebar.MAX_LINES - 5; // below the status/score/best/spacer/"Players:" header
+
+    @Param({ "10", "100", "500" })
+    public int members;
+
+    private final Leaderboard standings = new Leaderboard();
+    private UUID[] ids;
+    private String[] names;
+    private int[] points;
+    private Sidebar[] boards;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        BenchServer.start();
+        ids = new UUID[members];
+        names = new String[members];
+        points = new int[members];
+        boards = new Sidebar[members];
+        for (int i = 0; i < members; i++) {
+            ids[i] = UUID.randomUUID();
+            names[i] = "member" + i;
+            standings.put(ids[i], names[i], 0);
+            boards[i] = new Sidebar(Bukkit.getScoreboardManager().getNewScoreboard(), "mgbench", Component.text("Bench"));
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        BenchServer.stop();
+    }
+
+    @Benchmark
+    public void flush() {
+        int i = ThreadLocalRandom.current().nextInt(members);
+        standings.put(ids[i], names[i], ++points[i]);
+        List<String> table = new ArrayList<>(ROWS);
+        for (Leaderboard.Standing st : standings.top(ROWS)) table.add("§f" + st.name() + " §8: §f" + st.points());
+        for (int v = 0; v < members; v++) {
+            List<String> lines = new ArrayList<>(Sidebar.MAX_LINES);
+            lines.add("§7Your Status: §aPLAYING");
+            lines.add("§7Your Score: §f" + points[v]);
+            lines.add("§7Your Best: §f0");
+            lines.add(" ");
+            lines.add("§6Players:");
+            lines.addAll(table);
+            boards[v].render(lines);
+        }
+    }
+}
@@ -0,0 +1,89 @@
+package DKsMinigames.dKsMinigames.stats;
+
+import DKsMinigames.dKsMinigames.games.BenchServer;
+import DKsMinigames.dKsMinigames.utils.IoService;
+import org.bukkit.plugin.Plugin;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+/**
+ * Store operations on a scratch YAML store seeded with {@code entries} players. Recorded scores
+ * are flushed by the store's own debounce in the background, as in game.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class HighScoreStoreBenchmark {
+    @Param({ "10000", "100000", "1000000" })
+    public int entries;
+
+    private IoService io;
+    private Path dir;
+    private HighScoreStore store;
+    private UUID[] ids;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        Plugin plugin = BenchServer.start();
+        io = new IoService(plugin);
+        dir = Files.createTempDirectory("dks-highscores");
+        store = new HighScoreStore(plugin, io, "Bench", new File(dir.toFile(), "bench.yml"));
+        store.ready().join();
+
+        var r = ThreadLocalRandom.current();
+        ids = new UUID[entries];
+        List<HighScoreStore.Row> rows = new ArrayList<>(entries);
+        for (int i = 0; i < entries; i++) {
+            ids[i] = UUID.randomUUID();
+            rows.add(new HighScoreStore.Row(ids[i], "player" + i, r.nextInt(10_000), 1 + r.nextInt(50)));
+        }
+        store.importAll(rows);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        store.close().join();
+        io.close(10_000);
+        try (Stream<Path> files = Files.walk(dir)) {
+            for (Path p : files.sorted(Comparator.reverseOrder()).toList()) Files.deleteIfExists(p);
+        }
+        BenchServer.stop();
+    }
+
+    @Benchmark
+    public void recordScore() {
+        var r = ThreadLocalRandom.current();
+        int i = r.nextInt(entries);
+        store.recordScore(ids[i], "player" + i, r.nextInt(10_000));
+    }
+
+    @Benchmark
+    public Optional<HighScoreStore.TopScore> getByRank() {
+        return store.getByRank(1 + ThreadLocalRandom.current().nextInt(entries));
+    }
+
+    @Benchmark
+    public List<HighScoreStore.TopScore> getTop() {
+        return store.getTop(10);
+    }
+
+    @Benchmark
+    public int getRank() {
+        return store.getRank(ids[ThreadLocalRandom.current().nextInt(entries)]);
+    }
+}
@@ -3,8 +3,12 @@ package DKsMinigames.dKsMinigames;
 import DKsMinigames.dKsMinigames.commands.PingCommand;
 import DKsMinigames.dKsMinigames.games.BlockParty.BlockParty;
 import DKsMinigames.dKsMinigames.games.ElectricFloor.ElectricFloor;
-import DKsMinigames.dKsMinigames.games.Minigame;
+import DKsMinigames.dKsMinigames.games.MinigameGroup;
+import DKsMinigames.dKsMinigames.games.SessionRouter;
+import DKsMinigames.dKsMinigames.games.SignListener;
+import DKsMinigames.dKsMinigames.utils.ConfigHelper;
 import DKsMinigames.dKsMinigames.utils.DebugCommands;
+import DKsMinigames.dKsMinigames.utils.IoService;
 import org.bukkit.Bukkit;
 import org.bukkit.command.Command;
 import org.bukkit.command.CommandSender;
@@ -19,32 +23,44 @@ import java.util.List;
 
 public final class DKsMinigames extends JavaPlugin {
     public static final String NO_COLLIDE_TEAM = "global_nocollide";
-    private BlockParty blockParty;
-    private ElectricFloor electricFloor;
-    private List<Minigame> minigames;
+    private MinigameGroup blockParty;
+    private MinigameGroup electricFloor;
+    private List<MinigameGroup> minigames;
+    private SessionRouter sessions;
+    private IoService io;
 
     @Override
     public void onEnable() {
         saveDefaultConfig();
         reloadConfig();
+        ConfigHelper.reload(this); // parse once up front; a bad config fails here, not mid-game
         this.getCommand("ping").setExecutor(new PingCommand(this));
 
-        var debug = new DebugCommands(this);
+        // a reload must still cover every running arena; checked against the groups created below
+        var debug = new DebugCommands(this, next -> minigames.forEach(g -> g.checkConfig(next)));
         var debugCmd = this.getCommand("debug");
         if (debugCmd != null) { // avoid NPE if plugin.yml is wrong
             debugCmd.setExecutor(debug);
             debugCmd.setTabCompleter(debug);
         }
 
-        this.minigames = new ArrayList<Minigame>();
+        this.minigames = new ArrayList<MinigameGroup>();
+        this.sessions = new SessionRouter(this);
+        this.io = new IoService(this);
+        getServer().getPluginManager().registerEvents(sessions, this);
 
-        this.minigames.add(new BlockParty(this));
-        this.minigames.add(new ElectricFloor(this));
+        // One group per game type; each group runs a match per configured arena.
+        this.blockParty = new MinigameGroup(this, sessions, io, "BlockParty", (arena, scores) -> new BlockParty(this, arena, scores));
+        this.electricFloor = new MinigameGroup(this, sessions, io, "ElectricFloor", (arena, scores) -> new ElectricFloor(this, arena, scores));
+        this.minigames.add(blockParty);
+        this.minigames.add(electricFloor);
+        // one listener for every game's signs; it looks a block up across all their registries
+        getServer().getPluginManager().registerEvents(new SignListener(this, minigames), this);
 
         // getConfig().options().copyDefaults(true);
         // saveConfig();
 
-        minigames.forEach(Minigame::init);
+        minigames.forEach(MinigameGroup::init);
 
         // FIXME: UNCOMMENT THESE!
         // Registering listeners
@@ -60,7 +76,8 @@ public final class DKsMinigames extends JavaPlugin {
     public void onDisable() {
         // saveConfig();
 
-        minigames.forEach(Minigame::disable);
+        minigames.forEach(MinigameGroup::disable);
+        io.close(10_000); // let queued saves reach disk before the server goes away
     }
 
     @Override
@@ -86,6 +103,9 @@ public final class DKsMinigames extends JavaPlugin {
     }
 
 
+    /** Every game type, in registration order. */
+    public List<MinigameGroup> minigames() { return minigames; }
+
     // ===== Global Server Properties =====
     private Team ensureNoCollideTeam() {
         Scoreboard sb = Bukkit.getScoreboardManager().getMainScoreboard();
@@ -1,6 +1,9 @@
 package DKsMinigames.dKsMinigames.games.BlockParty;
 
 import DKsMinigames.dKsMinigames.utils.ConfigHelper;
+import DKsMinigames.dKsMinigames.utils.ConfigSnapshot;
+import DKsMinigames.dKsMinigames.utils.IoService;
+import DKsMinigames.dKsMinigames.utils.TickBudget;
 import org.bukkit.Location;
 import org.bukkit.Material;
 import org.bukkit.World;
@@ -10,6 +13,7 @@ import java.io.BufferedReader;
 import java.io.InputStream;
 import java.io.InputStreamReader;
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ThreadLocalRandom;
 
 public class BPMap {
@@ -20,28 +24,41 @@ public class BPMap {
     );
 
     private static final int PATTERN_COUNT = 10;
+    // Pattern files ship in the jar and never change, so every arena shares one parsed copy.
+    private static final Map<String, List<String>> LINES = new ConcurrentHashMap<>();
 
     private enum Facing { SOUTH, NORTH, EAST, WEST }
 
     private final Plugin plugin;
     private final ConfigHelper cfg;
+    private final int arenaIndex;
+    private final TickBudget budget;
+    private long blockWrites = 0;
 
-    public BPMap(Plugin plugin) {
+    public BPMap(Plugin plugin, int arenaIndex, TickBudget budget) {
         this.plugin = plugin;
         this.cfg = new ConfigHelper(plugin);
+        this.arenaIndex = arenaIndex;
+        this.budget = budget;
     }
 
     public int getPatternCount() { return PATTERN_COUNT; }
 
     public boolean show(int pattern) { return show(pattern, false); }
 
-    public boolean show(int pattern, boolean random) {
+    public boolean show(int pattern, boolean random) { return show(pattern, random, null); }
+
+    /**
+     * Draws a pattern over the next few ticks; {@code onDone} runs once the floor is complete.
+     * Returns false (and never calls {@code onDone}) if the pattern cannot be drawn.
+     */
+    public boolean show(int pattern, boolean random, Runnable onDone) {
         if (pattern < 0 || pattern >= PATTERN_COUNT) return false;
 
-        List<String> grid = loadLines("BPPatterns/Pattern" + pattern + ".txt");
+        List<String> grid = lines("BPPatterns/Pattern" + pattern + ".txt");
         if (grid.isEmpty()) return false;
 
-        Region arena = getArenaRegion();
+        ConfigSnapshot.Floor arena = getArenaRegion();
         if (arena == null) return false;
 
         Facing facing = readFacing();
@@ -50,15 +67,15 @@ public class BPMap {
         List<Material> palette = new ArrayList<>(PALETTE);
         if (random) Collections.shuffle(palette, ThreadLocalRandom.current());
 
-        renderGrid(arena, grid, palette, facing);
+        budget.submit("bp.show", renderGrid(arena, grid, palette, facing), onDone);
         return true;
     }
 
     public boolean showTitle(boolean random) {
-        List<String> title = loadLines("BPPatterns/Title.txt");
+        List<String> title = lines("BPPatterns/Title.txt");
         if (title.isEmpty()) return false;
 
-        Region arena = getArenaRegion();
+        ConfigSnapshot.Floor arena = getArenaRegion();
         if (arena == null) return false;
 
         Facing facing = readFacing();
@@ -67,7 +84,7 @@ public class BPMap {
         List<Material> palette = new ArrayList<>(PALETTE);
         if (random) Collections.shuffle(palette, ThreadLocalRandom.current());
 
-        renderGrid(arena, title, palette, facing);
+        budget.submit("bp.title", renderGrid(arena, title, palette, facing));
         return true;
     }
 
@@ -97,28 +114,32 @@ public class BPMap {
 
     public List<Material> getMaterials() { return PALETTE; }
 
-    public void collapseTo(Material keep) {
-        List<Location> arena = cfg.getGameArena("BlockParty");
-        if (arena.size() < 2) return;
+    /** Blocks this map has written since it was created. */
+    public long blockWrites() { return blockWrites; }
 
-        Location p = arena.get(0);
-        Location q = arena.get(1);
-        if (!Objects.equals(p.getWorld(), q.getWorld())) return;
+    public void collapseTo(Material keep) { collapseTo(keep, null); }
 
-        int minX = Math.min(p.getBlockX(), q.getBlockX());
-        int maxX = Math.max(p.getBlockX(), q.getBlockX());
-        int minZ = Math.min(p.getBlockZ(), q.getBlockZ());
-        int maxZ = Math.max(p.getBlockZ(), q.getBlockZ());
-        int y = p.getBlockY();
-        World w = p.getWorld();
+    /** Clears every tile that isn't {@code keep}, one row per step; {@code onDone} runs when the floor is settled. */
+    public void collapseTo(Material keep, Runnable onDone) {
+        ConfigSnapshot.Floor a = getArenaRegion();
+        if (a == null) {
+            if (onDone != null) onDone.run();
+            return;
+        }
 
-        for (int z = minZ; z <= maxZ; z++) {
-            for (int x = minX; x <= maxX; x++) {
-                if (w.getBlockAt(x, y, z).getType() != keep) {
-                    w.getBlockAt(x, y, z).setType(Material.AIR, false);
+        World w = a.world();
+        int y = a.y();
+        final int[] z = { a.minZ() };
+        budget.submit("bp.collapse", () -> {
+            for (int x = a.minX(); x <= a.maxX(); x++) {
+                var block = w.getBlockAt(x, y, z[0]);
+                if (block.getType() != keep) {
+                    block.setType(Material.AIR, false);
+                    blockWrites++;
                 }
             }
-        }
+            return ++z[0] <= a.maxZ();
+        }, onDone);
     }
 
     // ==== internals ====
@@ -134,7 +155,29 @@ public class BPMap {
         return -1; // '.' or anything else
     }
 
-    private List<String> loadLines(String path) {
+    /** Read every pattern on the I/O service so rounds never touch the jar on the main thread. */
+    public void preload(IoService io) {
+        for (int i = 0; i < PATTERN_COUNT; i++) preload(io, "BPPatterns/Pattern" + i + ".txt");
+        preload(io, "BPPatterns/Title.txt");
+    }
+
+    private void preload(IoService io, String path) {
+        if (LINES.containsKey(path)) return;
+        io.submit("resource:" + path, () -> loadLines(path)).thenAccept(l -> {
+            if (!l.isEmpty()) LINES.putIfAbsent(path, l);
+        });
+    }
+
+    // Cached lines; falls back to reading now if the preload has not finished (or failed).
+    private List<String> lines(String path) {
+        List<String> l = LINES.get(path);
+        if (l != null) return l;
+        l = loadLines(path);
+        if (!l.isEmpty()) LINES.putIfAbsent(path, l);
+        return l;
+    }
+
+    List<String> loadLines(String path) {
         try (InputStream in = plugin.getResource(path);
              BufferedReader r = (in == null) ? null : new BufferedReader(new InputStreamReader(in))) {
             if (r == null) {
@@ -152,9 +195,7 @@ public class BPMap {
     }
 
     private Facing readFacing() {
-        // If you don’t have this helper, replace with parsing from your game config:
-        // String raw = (String)((Map<String,Object>)cfg.getGameConfig("BlockParty").get("spawn")).getOrDefault("facing","south");
-        String raw = cfg.getSpawnFacingDirection("BlockParty"); // expected: "north|south|east|west"
+        String raw = cfg.getSpawnFacingDirection("BlockParty", arenaIndex); // expected: "north|south|east|west"
         if (raw == null) return Facing.SOUTH;
         return switch (raw.toLowerCase(Locale.ROOT)) {
             case "north" -> Facing.NORTH;
@@ -164,52 +205,60 @@ public class BPMap {
         };
     }
 
-    private void renderGrid(Region a, List<String> grid, List<Material> palette, Facing facing) {
-        World w = a.world;
-        int y = a.y;
+    // One grid row per step, so a large pattern spreads over a few ticks.
+    private TickBudget.Work renderGrid(ConfigSnapshot.Floor a, List<String> grid, List<Material> palette, Facing facing) {
+        final int[] v = { 0 };
+        return () -> {
+            renderRow(a, grid, v[0], palette, facing);
+            return ++v[0] < grid.size();
+        };
+    }
+
+    private void renderRow(ConfigSnapshot.Floor a, List<String> grid, int v, List<Material> palette, Facing facing) {
+        World w = a.world();
+        int y = a.y();
 
         final int W = grid.get(0).length(); // columns in file
         final int H = grid.size();          // rows in file
 
-        for (int v = 0; v < H; v++) {        // v = grid row index
-            String row = grid.get(v);
-            for (int u = 0; u < W; u++) {    // u = grid column index
-                char ch = row.charAt(u);
-                if (ch == '.') continue;
-                int idx = decodeIndex(ch);
-                if (idx < 0 || idx >= palette.size()) continue;
-
-                int xoff, zoff;
-
-                switch (facing) {
-                    case SOUTH -> { // default (no rotation): (u, v)
-                        xoff = u;
-                        zoff = v;
-                    }
-                    case NORTH -> { // 180°: (W-1-u, H-1-v)
-                        xoff = (a.width() - 1)  - u;
-                        zoff = (a.height() - 1) - v;
-                    }
-                    case EAST -> {  // 90° clockwise: (H-1-v, u)
-                        // For EAST/WEST we validated that a.width == H and a.height == W
-                        xoff = (H - 1) - v;
-                        zoff = u;
-                    }
-                    case WEST -> {  // 90° counter-clockwise: (v, W-1-u)
-                        xoff = v;
-                        zoff = (W - 1) - u;
-                    }
-                    default -> { xoff = u; zoff = v; }
-                }
+        String row = grid.get(v);            // v = grid row index
+        for (int u = 0; u < W; u++) {        // u = grid column index
+            char ch = row.charAt(u);
+            if (ch == '.') continue;
+            int idx = decodeIndex(ch);
+            if (idx < 0 || idx >= palette.size()) continue;
 
-                int x = a.minX + xoff;
-                int z = a.minZ + zoff;
-                w.getBlockAt(x, y, z).setType(palette.get(idx), false);
+            int xoff, zoff;
+
+            switch (facing) {
+                case SOUTH -> { // default (no rotation): (u, v)
+                    xoff = u;
+                    zoff = v;
+                }
+                case NORTH -> { // 180°: (W-1-u, H-1-v)
+                    xoff = (a.width() - 1)  - u;
+                    zoff = (a.height() - 1) - v;
+                }
+                case EAST -> {  // 90° clockwise: (H-1-v, u)
+                    // For EAST/WEST we validated that a.width == H and a.height == W
+                    xoff = (H - 1) - v;
+                    zoff = u;
+                }
+                case WEST -> {  // 90° counter-clockwise: (v, W-1-u)
+                    xoff = v;
+                    zoff = (W - 1) - u;
+                }
+                default -> { xoff = u; zoff = v; }
             }
+
+            int x = a.minX() + xoff;
+            int z = a.minZ() + zoff;
+            w.getBlockAt(x, y, z).setType(palette.get(idx), false);
+            blockWrites++;
         }
     }
 
-    private boolean validateDimensions(List<String> grid, Region arena, Facing facing) {
+    private boolean validateDimensions(List<String> grid, ConfigSnapshot.Floor arena, Facing facing) {
         // grid: W x H
         int H = grid.size();
         if (H == 0) return false;
@@ -236,24 +285,8 @@ public class BPMap {
         return ok;
     }
 
-    private record Region(World world, int y, int minX, int minZ, int maxX, int maxZ) {
-        int width()  { return (maxX - minX) + 1; }
-        int height() { return (maxZ - minZ) + 1; }
-    }
-
-    private Region getArenaRegion() {
-        List<Location> arena = cfg.getGameArena("BlockParty");
-        if (arena == null || arena.size() < 2) return null;
-
-        Location p = arena.get(0);
-        Location q = arena.get(1);
-        if (!Objects.equals(p.getWorld(), q.getWorld())) return null;
-
-        int minX = Math.min(p.getBlockX(), q.getBlockX());
-        int maxX = Math.max(p.getBlockX(), q.getBlockX());
-        int minZ = Math.min(p.getBlockZ(), q.getBlockZ());
-        int maxZ = Math.max(p.getBlockZ(), q.getBlockZ());
-
-        return new Region(p.getWorld(), p.getBlockY(), minX, minZ, maxX, maxZ);
+    // Bounds come pre-normalised from the config snapshot; nothing is re-parsed per round.
+    private ConfigSnapshot.Floor getArenaRegion() {
+        return cfg.getArena("BlockParty", arenaIndex).floor();
     }
 }
@@ -1,6 +1,9 @@
 package DKsMinigames.dKsMinigames.games.BlockParty;
 
 import DKsMinigames.dKsMinigames.games.Minigame;
+import DKsMinigames.dKsMinigames.stats.HighScoreStore;
+import DKsMinigames.dKsMinigames.utils.ConfigSnapshot;
+import DKsMinigames.dKsMinigames.utils.TimingWheel;
 import org.bukkit.Bukkit;
 import org.bukkit.Location;
 import org.bukkit.Material;
@@ -8,8 +11,8 @@ import org.bukkit.Sound;
 import org.bukkit.entity.Player;
 import org.bukkit.inventory.ItemStack;
 import org.bukkit.plugin.Plugin;
-import org.bukkit.scheduler.BukkitTask;
 
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Locale;
 import java.util.UUID;
@@ -24,18 +27,20 @@ public class BlockParty extends Minigame {
     private static final int DECR_TIME = 5; // ticks per round
 
     // ===== State =====
-    private BukkitTask roundBarTask;
-    private List<Location> arenaCoords;
+    private TimingWheel.Timer roundBarTask;
+    private ConfigSnapshot.Floor floor;       // read at match start, so a reload applies to the next match
     private int scout_time = MAX_SCOUT_TIME;
     private Material curr_material;
     private final BPMap map;
 
     // The most recent lone-survivor snapshot at a round boundary (used only if everyone later dies).
     private UUID lastLoneSurvivor = null;
+    // Reused each tick for players that fell off
+    private final List<Player> toEliminate = new ArrayList<>();
 
-    public BlockParty(Plugin plugin) {
-        super(plugin, "BlockParty");
-        this.map = new BPMap(plugin);
+    public BlockParty(Plugin plugin, int arena, HighScoreStore highScores) {
+        super(plugin, "BlockParty", arena, highScores);
+        this.map = new BPMap(plugin, arena, budget());
         this.setCanChangeInventory(false);
         this.setPlayerCanBeHungry(false);
         this.setPlayerCanBeHurt(false);
@@ -60,7 +65,7 @@ public class BlockParty extends Minigame {
                 try {
                     int patternIndex = Integer.parseInt(args[1]);
                     boolean random = args.length >= 3 && args[2].equalsIgnoreCase("random");
-                    boolean ok = new BPMap(this.getPlugin()).show(patternIndex, random);
+                    boolean ok = map.show(patternIndex, random);
                     if (!ok) p.sendMessage("Failed to render pattern " + patternIndex);
                 } catch (NumberFormatException e) {
                     p.sendMessage("Pattern number must be an integer.");
@@ -69,7 +74,7 @@ public class BlockParty extends Minigame {
             }
             case "title" -> {
                 boolean random = args.length >= 2 && args[1].equalsIgnoreCase("random");
-                boolean ok = new BPMap(this.getPlugin()).showTitle(random);
+                boolean ok = map.showTitle(random);
                 if (!ok) p.sendMessage("Failed to render title (check BPPatterns/Title.txt and arena size).");
                 return true;
             }
@@ -77,7 +82,7 @@ public class BlockParty extends Minigame {
                 if (args.length < 2) { p.sendMessage("Usage: /blockparty collapse <MATERIAL>"); return true; }
                 try {
                     Material keep = Material.valueOf(args[1].toUpperCase(Locale.ROOT));
-                    new BPMap(this.getPlugin()).collapseTo(keep);
+                    map.collapseTo(keep);
                     p.sendMessage("Collapsed arena to keep only " + keep);
                 } catch (IllegalArgumentException e) {
                     p.sendMessage("Unknown material: " + args[1]);
@@ -104,55 +109,44 @@ public class BlockParty extends Minigame {
     // ===== Lifecycle =====
     @Override
     protected void onInit() {
+        map.preload(io());
         map.showTitle(false);
     }
 
     @Override
     protected void onStart() {
-        arenaCoords = getConfigHelper().getGameArena(name());
+        floor = getConfigHelper().getArena(name(), arena()).floor();
         scout_time = MAX_SCOUT_TIME;
         lastLoneSurvivor = null;
 
         // Scatter players onto the floor (1 block above)
-        Location c1 = arenaCoords.getFirst();
-        Location c2 = arenaCoords.getLast();
-        int minX = Math.min(c1.getBlockX(), c2.getBlockX());
-        int maxX = Math.max(c1.getBlockX(), c2.getBlockX());
-        int minZ = Math.min(c1.getBlockZ(), c2.getBlockZ());
-        int maxZ = Math.max(c1.getBlockZ(), c2.getBlockZ());
-        int y = c1.getBlockY() + 1;
-
+        ConfigSnapshot.Floor f = floor;
         forEachPlayer(p -> {
-            int x = rnd().nextInt(minX + 2, maxX - 1);
-            int z = rnd().nextInt(minZ + 2, maxZ - 1);
-            p.teleport(new Location(c1.getWorld(), x + 0.5, y, z + 0.5));
+            int x = rnd().nextInt(f.minX() + 2, f.maxX() - 1);
+            int z = rnd().nextInt(f.minZ() + 2, f.maxZ() - 1);
+            p.teleport(new Location(f.world(), x + 0.5, f.y() + 1, z + 0.5));
         });
 
         // Grace, then round loop
-        Bukkit.getScheduler().runTaskLater(getPlugin(), this::nextRoundLoop, 20L * GRACE_TIME);
+        timers().after(20L * GRACE_TIME, this::nextRoundLoop);
     }
 
     @Override
     protected void onTick() {
         // Safety net: eliminate players who fall off (without mutating while iterating)
-        int yFloor = arenaCoords.getFirst().getBlockY() - 20;
+        int yFloor = floor.y() - 20;
 
-        java.util.List<Player> toEliminate = new java.util.ArrayList<>();
-        players().forEach(id -> {
-            Player p = Bukkit.getPlayer(id);
-            if (p != null && p.isOnline() && p.getLocation().getBlockY() <= yFloor) {
-                toEliminate.add(p);
-            }
+        toEliminate.clear();
+        forEachPlayer(p -> {
+            if (p.getLocation().getBlockY() <= yFloor) toEliminate.add(p);
         });
-        // Now mutate outside the iteration over players()
-        toEliminate.forEach(this::eliminate);
-
-        // Spectators rescue (safe: no set mutation)
-        spectators().forEach(id -> {
-            Player s = Bukkit.getPlayer(id);
-            if (s != null && s.isOnline() && s.getLocation().getBlockY() <= yFloor) {
-                s.teleport(getConfigHelper().getHubSpawn());
-            }
+        // Now mutate outside the iteration over the roster
+        if (!toEliminate.isEmpty()) toEliminate.forEach(this::eliminate);
+
+        // Spectators rescue (safe: no roster mutation)
+        Location hub = getConfigHelper().snapshot().hubSpawn(); // only passed to teleport, never modified
+        forEachSpectator(s -> {
+            if (s.getLocation().getBlockY() <= yFloor) s.teleport(hub);
         });
     }
 
@@ -183,29 +177,30 @@ public class BlockParty extends Minigame {
         curr_material = materials.get(ThreadLocalRandom.current().nextInt(materials.size()));
         int pattern = ThreadLocalRandom.current().nextInt(map.getPatternCount());
 
-        map.show(pattern, true);
-
         forEachPlayer(p -> {
             p.getInventory().clear();
             p.getInventory().setItem(4, new ItemStack(curr_material, 1));
         });
 
-        startCountdownBar(durationTicks);
-
-        // Collapse when the scout timer elapses
-        Bukkit.getScheduler().runTaskLater(getPlugin(), () -> {
-            if (state() != State.RUNNING) return;
-            playersPlaySound(Sound.ENTITY_WITHER_BREAK_BLOCK);
-            map.collapseTo(curr_material);
-            stopCountdownBar(); // stop bar at collapse start
-        }, durationTicks);
-
-        // Post-collapse settle; then checkpoint outcome
-        Bukkit.getScheduler().runTaskLater(getPlugin(), () -> {
+        // The scout timer starts once the pattern is fully drawn
+        Runnable scout = () -> {
             if (state() != State.RUNNING) return;
-            if (postRoundCheckpointAndMaybeEnd()) return;
-            onAfterWait.run();
-        }, durationTicks + COLLAPSE_WAIT_TIME);
+            startCountdownBar(durationTicks);
+
+            // Collapse when the scout timer elapses; settle once the last row is cleared
+            timers().after(durationTicks, () -> {
+                if (state() != State.RUNNING) return;
+                playersPlaySound(Sound.ENTITY_WITHER_BREAK_BLOCK);
+                stopCountdownBar(); // stop bar at collapse start
+                map.collapseTo(curr_material, () -> timers().after(COLLAPSE_WAIT_TIME, () -> {
+                    // Post-collapse settle; then checkpoint outcome
+                    if (state() != State.RUNNING) return;
+                    if (postRoundCheckpointAndMaybeEnd()) return;
+                    onAfterWait.run();
+                }));
+            });
+        };
+        if (!map.show(pattern, true, scout)) scout.run();
     }
 
     private void nextRoundLoop() {
@@ -261,13 +256,13 @@ public class BlockParty extends Minigame {
     private void startCountdownBar(int durationTicks) {
         stopCountdownBar();
         final int[] left = { durationTicks };
-        roundBarTask = Bukkit.getScheduler().runTaskTimer(getPlugin(), () -> {
+        roundBarTask = timers().every(0L, 1L, () -> {
             if (state() != State.RUNNING) { stopCountdownBar(); return; }
             float pct = Math.max(0f, Math.min(1f, left[0] / (float) durationTicks));
             int secondsLeft = Math.max(0, (left[0] + 19) / 20);
             forEachPlayer(p -> { p.setExp(pct); p.setLevel(secondsLeft); });
             if (--left[0] < 0) stopCountdownBar();
-        }, 0L, 1L);
+        });
     }
 
     private void stopCountdownBar() {
@@ -277,12 +272,8 @@ public class BlockParty extends Minigame {
 
     // ===== Debugging =====
     public void printArenaPattern() {
-        if (arenaCoords == null || arenaCoords.size() < 2) {
-            arenaCoords = getConfigHelper().getGameArena(name());
-        }
-        var corners = arenaCoords;
-        BPMap reader = new BPMap(this.plugin);
-        for (String row : reader.generatePattern(corners.get(0), corners.get(1))) {
+        var corners = getConfigHelper().getGameArena(name(), arena());
+        for (String row : map.generatePattern(corners.get(0), corners.get(1))) {
             log(row);
         }
     }
@@ -1,10 +1,14 @@
 package DKsMinigames.dKsMinigames.games.ElectricFloor;
 
 import DKsMinigames.dKsMinigames.utils.ConfigHelper;
+import DKsMinigames.dKsMinigames.utils.ConfigSnapshot;
+import DKsMinigames.dKsMinigames.utils.TickBudget;
+import DKsMinigames.dKsMinigames.utils.TickProfiler;
 import org.bukkit.Bukkit;
 import org.bukkit.Location;
 import org.bukkit.Material;
 import org.bukkit.World;
+import org.bukkit.block.Block;
 import org.bukkit.block.data.BlockData;
 import org.bukkit.entity.FallingBlock;
 import org.bukkit.plugin.Plugin;
@@ -15,11 +19,21 @@ import java.util.concurrent.ThreadLocalRandom;
 public class EFMap {
     private final Plugin plugin;
     private final ConfigHelper cfg;
-    private final Region arena;
+    private final TickProfiler profiler;
+    private final TickBudget budget;
+    private long blockWrites = 0;
+    private final int arenaIndex;
+    private ConfigSnapshot.Floor arena;     // refreshed on reset, so a config reload applies to the next match
     private final Map<UUID, RedMark> redAwardLock = new HashMap<>();
-    private final Set<BlockKey> dropQueued = new HashSet<>();
 
-    private record RedMark(BlockKey key, int untilTick) {}
+    // Pending tile drops: a ring of (tile, due tick) in due order, drained once per game tick.
+    // A tile is its packed floor offset, (x - minX) * depth + (z - minZ).
+    private int[] dropTile = new int[64];
+    private int[] dropDue = new int[64];
+    private int dropHead = 0, dropCount = 0;
+    private final BitSet dropQueued = new BitSet();
+
+    private record RedMark(int tile, int untilTick) {}
 
     // Progression stages (last is lethal/red = falls)
     private final List<Material> stages = List.of(
@@ -34,40 +48,78 @@ public class EFMap {
     private static final int KILL_DEPTH = 10; // eliminate only after falling this far
     private static final int FALL_DELAY = 5; // Ticks
 
-    public EFMap(Plugin plugin) {
+    public EFMap(Plugin plugin, int arenaIndex, TickProfiler profiler, TickBudget budget) {
         this.plugin = plugin;
+        this.profiler = profiler;
+        this.budget = budget;
         this.cfg = new ConfigHelper(plugin);
+        this.arenaIndex = arenaIndex;
         this.arena = getArenaRegion();
     }
 
     // ===== Public helpers =====
+    /** Repaints the floor to the first stage, one column per step under the game's tick budget. */
     public void reset() {
+        arena = getArenaRegion();
         if (arena == null) return;
-        World w = arena.world;
-        int y = arena.y;
+        stepState.clear();
+        dropHead = dropCount = 0; // the floor is repainted; pending drops no longer apply
+        dropQueued.clear();
+        redAwardLock.clear();
+        final ConfigSnapshot.Floor f = arena;
+        World w = f.world();
+        int y = f.y();
         Material base = stages.getFirst();
-        for (int x = arena.minX; x <= arena.maxX; x++) {
-            for (int z = arena.minZ; z <= arena.maxZ; z++) {
-                w.getBlockAt(x, y, z).setType(base, false);
+        final int[] x = { f.minX() };
+        budget.submit("ef.reset", () -> {
+            for (int z = f.minZ(); z <= f.maxZ(); z++) {
+                w.getBlockAt(x[0], y, z).setType(base, false);
             }
-        }
-        stepState.clear();
+            blockWrites += f.maxZ() - f.minZ() + 1;
+            return ++x[0] <= f.maxX();
+        });
     }
 
-    public boolean isArenaWorld(World w) { return arena != null && arena.world.equals(w); }
+    public boolean isArenaWorld(World w) { return arena != null && arena.world().equals(w); }
 
     public boolean isOnArenaFloor(Location loc) {
-        if (arena == null || !arena.world.equals(loc.getWorld())) return false;
+        if (arena == null || !arena.world().equals(loc.getWorld())) return false;
         int x = loc.getBlockX(), y = loc.getBlockY(), z = loc.getBlockZ();
-        return y == arena.y && x >= arena.minX && x <= arena.maxX && z >= arena.minZ && z <= arena.maxZ;
+        return y == arena.y() && x >= arena.minX() && x <= arena.maxX() && z >= arena.minZ() && z <= arena.maxZ();
     }
 
-    public int getArenaY() { return arena != null ? arena.y : Integer.MIN_VALUE; }
+    public int getArenaY() { return arena != null ? arena.y() : Integer.MIN_VALUE; }
+
+    /** Blocks this map has written since it was created. */
+    public long blockWrites() { return blockWrites; }
+
+    /**
+     * Drop every queued tile whose delay has elapsed. Called once per game tick with the same
+     * counter passed to {@link #step}; award locks are released in one pass afterwards.
+     */
+    public void drainDrops(int tick) {
+        if (dropCount == 0 || dropDue[dropHead] > tick) return;
+        profiler.time("ef.drop", () -> {
+            ConfigSnapshot.Floor f = arena;
+            int depth = f.height();
+            Material lethal = stages.getLast();
+            int mask = dropTile.length - 1;
+            while (dropCount > 0 && dropDue[dropHead] <= tick) {
+                int tile = dropTile[dropHead];
+                dropHead = (dropHead + 1) & mask;
+                dropCount--;
+                dropQueued.clear(tile);
+                makeBlockFall(f.world(), f.minX() + tile / depth, f.y(), f.minZ() + tile % depth, lethal);
+            }
+            // a lock lives exactly until its tile's drop, so expired locks are the released ones
+            redAwardLock.values().removeIf(m -> m.untilTick() <= tick);
+        });
+    }
 
     public boolean shouldEliminateForFall(Location loc) {
         return arena != null
-                && arena.world.equals(loc.getWorld())
-                && loc.getBlockY() <= (arena.y - KILL_DEPTH);
+                && arena.world().equals(loc.getWorld())
+                && loc.getBlockY() <= (arena.y() - KILL_DEPTH);
     }
 
     /**
@@ -78,13 +130,13 @@ public class EFMap {
      *  - When a tile reaches RED, it falls (we never eliminate here; falling into the void handles that elsewhere).
      */
     public boolean step(UUID playerId, Location playerLoc, int tick) {
-        if (arena == null || playerLoc == null || !arena.world.equals(playerLoc.getWorld())) return false;
+        if (arena == null || playerLoc == null || !arena.world().equals(playerLoc.getWorld())) return false;
 
         // Compute the under-feet block (original behaviour)
         Location under = playerLoc.toBlockLocation().add(0, -1, 0);
 
         // Only act while interacting with the arena surface: the under-feet Y must equal arena.y.
-        if (under.getBlockY() != arena.y) return false;
+        if (under.getBlockY() != arena.y()) return false;
 
         // If under-feet is on the arena:
         if (isOnArenaFloor(under)) {
@@ -104,30 +156,21 @@ public class EFMap {
 
     // Advance one step on a specific block (red → falls after delay). Returns true exactly once per action.
     private boolean stepOnBlock(UUID playerId, Location blockLoc, int tick) {
-        final BlockKey key = BlockKey.of(blockLoc);
+        final int tile = tileOf(blockLoc);
         final StepState prev = stepState.get(playerId);
-        final boolean sameBlock = prev != null && key.equals(prev.block());
+        final boolean sameBlock = prev != null && prev.tile() == tile;
         final Material cur = blockLoc.getBlock().getType();
         final Material lethal = stages.getLast();
 
         // --- Already red: award once per player per block, queue a single delayed drop ---
         if (cur == lethal) {
             RedMark mark = redAwardLock.get(playerId);
-            boolean locked = (mark != null) && mark.key().equals(key) && tick < mark.untilTick();
+            boolean locked = (mark != null) && mark.tile() == tile && tick < mark.untilTick();
             if (locked) return false;
 
             // lock this player on this red block until drop fires
-            redAwardLock.put(playerId, new RedMark(key, tick + FALL_DELAY));
-
-            // only queue one drop per block
-            if (dropQueued.add(key)) {
-                Bukkit.getScheduler().runTaskLater(this.plugin, () -> {
-                    makeBlockFall(blockLoc, lethal);
-                    dropQueued.remove(key);
-                    // clear stale locks for this block (optional but tidy)
-                    redAwardLock.entrySet().removeIf(e -> e.getValue().key().equals(key));
-                }, FALL_DELAY);
-            }
+            redAwardLock.put(playerId, new RedMark(tile, tick + FALL_DELAY));
+            queueDrop(tile, tick + FALL_DELAY);
             return true; // first contact → one award
         }
 
@@ -139,39 +182,64 @@ public class EFMap {
         if (idx >= 0 && idx < stages.size() - 1) {
             final Material next = stages.get(idx + 1);
             blockLoc.getBlock().setType(next, false);
+            blockWrites++;
 
             // per-player cooldown refresh
-            stepState.put(playerId, new StepState(key, tick + COOLDOWN_TICKS, 0));
+            stepState.put(playerId, new StepState(tile, tick + COOLDOWN_TICKS, 0));
 
             if (next == lethal) {
                 // lock immediately so the very next tick can't award again before the drop
-                redAwardLock.put(playerId, new RedMark(key, tick + FALL_DELAY));
-                if (dropQueued.add(key)) {
-                    Bukkit.getScheduler().runTaskLater(this.plugin, () -> {
-                        makeBlockFall(blockLoc, next);
-                        dropQueued.remove(key);
-                        redAwardLock.entrySet().removeIf(e -> e.getValue().key().equals(key));
-                    }, FALL_DELAY);
-                }
+                redAwardLock.put(playerId, new RedMark(tile, tick + FALL_DELAY));
+                queueDrop(tile, tick + FALL_DELAY);
             }
             return true; // advancing stage counts once
         }
 
         // Not a staged tile: update cooldown only, no award.
-        stepState.put(playerId, new StepState(key, tick + COOLDOWN_TICKS, 0));
+        stepState.put(playerId, new StepState(tile, tick + COOLDOWN_TICKS, 0));
         return false;
     }
 
+    private int tileOf(Location blockLoc) {
+        return (blockLoc.getBlockX() - arena.minX()) * arena.height() + (blockLoc.getBlockZ() - arena.minZ());
+    }
+
+    // Only one drop per tile; every drop waits FALL_DELAY, so appending keeps the ring in due order.
+    private void queueDrop(int tile, int dueTick) {
+        if (dropQueued.get(tile)) return;
+        dropQueued.set(tile);
+        if (dropCount == dropTile.length) growDrops();
+        int slot = (dropHead + dropCount) & (dropTile.length - 1);
+        dropTile[slot] = tile;
+        dropDue[slot] = dueTick;
+        dropCount++;
+    }
+
+    private void growDrops() {
+        int[] tiles = new int[dropTile.length << 1];
+        int[] due = new int[tiles.length];
+        for (int i = 0; i < dropCount; i++) {
+            int from = (dropHead + i) & (dropTile.length - 1);
+            tiles[i] = dropTile[from];
+            due[i] = dropDue[from];
+        }
+        dropTile = tiles;
+        dropDue = due;
+        dropHead = 0;
+    }
 
-    private void makeBlockFall(Location blockLoc, Material mat) {
-        if (blockLoc.getBlock().getType().isAir()) return;
+
+    private void makeBlockFall(World w, int x, int y, int z, Material mat) {
+        Block block = w.getBlockAt(x, y, z);
+        if (block.getType().isAir()) return;
 
         BlockData data = mat.createBlockData();
-        blockLoc.getBlock().setType(Material.AIR, false);
+        block.setType(Material.AIR, false);
+        blockWrites++;
 
         // Spawn a falling block centred so it visually drops into the void.
-        Location spawn = blockLoc.clone().add(0.5, 0.0, 0.5);
-        FallingBlock fb = blockLoc.getWorld().spawnFallingBlock(spawn, data);
+        Location spawn = new Location(w, x + 0.5, y, z + 0.5);
+        FallingBlock fb = w.spawnFallingBlock(spawn, data);
         fb.setDropItem(false);
         fb.setHurtEntities(false);
         fb.setGravity(true);
@@ -184,37 +252,37 @@ public class EFMap {
      * Recomputed every tick so “nearest” updates after a tile falls.
      */
     public Location nearestExistingTileAtArenaY(Location playerLoc) {
-        if (arena == null || playerLoc == null || !arena.world.equals(playerLoc.getWorld())) return null;
+        if (arena == null || playerLoc == null || !arena.world().equals(playerLoc.getWorld())) return null;
 
         // Preferred candidate by rounding to nearest centre.
         int cx = (int) Math.floor(playerLoc.getX() + 0.5);
         int cz = (int) Math.floor(playerLoc.getZ() + 0.5);
 
         // Clamp to bounds
-        cx = Math.max(arena.minX, Math.min(arena.maxX, cx));
-        cz = Math.max(arena.minZ, Math.min(arena.maxZ, cz));
+        cx = Math.max(arena.minX(), Math.min(arena.maxX(), cx));
+        cz = Math.max(arena.minZ(), Math.min(arena.maxZ(), cz));
 
         // If that tile exists (non-air staged), return it.
-        Location candidate = new Location(arena.world, cx, arena.y, cz);
+        Location candidate = new Location(arena.world(), cx, arena.y(), cz);
         if (isStagedSolid(candidate)) return candidate;
 
         // Otherwise, search outwards in a small expanding square until we find a staged, non-air tile.
         // Radius grows up to the arena half-size, but we short-circuit on first best (min distance).
-        int maxR = Math.max(arena.maxX - arena.minX, arena.maxZ - arena.minZ);
+        int maxR = Math.max(arena.maxX() - arena.minX(), arena.maxZ() - arena.minZ());
         double bestDist2 = Double.POSITIVE_INFINITY;
         Location best = null;
 
         for (int r = 1; r <= maxR; r++) {
-            int minX = Math.max(arena.minX, cx - r);
-            int maxX = Math.min(arena.maxX, cx + r);
-            int minZ = Math.max(arena.minZ, cz - r);
-            int maxZ = Math.min(arena.maxZ, cz + r);
+            int minX = Math.max(arena.minX(), cx - r);
+            int maxX = Math.min(arena.maxX(), cx + r);
+            int minZ = Math.max(arena.minZ(), cz - r);
+            int maxZ = Math.min(arena.maxZ(), cz + r);
 
             // Check perimeter of the square ring at radius r
             for (int x = minX; x <= maxX; x++) {
                 for (int z = minZ; z <= maxZ; z++) {
                     if (x != minX && x != maxX && z != minZ && z != maxZ) continue; // perimeter only
-                    Location l = new Location(arena.world, x, arena.y, z);
+                    Location l = new Location(arena.world(), x, arena.y(), z);
                     if (!isStagedSolid(l)) continue;
 
                     double dx = (x + 0.5) - playerLoc.getX();
@@ -239,26 +307,9 @@ public class EFMap {
     }
 
     // ===== Records / region =====
-    private record StepState(BlockKey block, int nextAllowedTick, int lethalSafeUntilTick) {}
-    private record BlockKey(UUID world, int x, int y, int z) {
-        static BlockKey of(Location l) {
-            return new BlockKey(l.getWorld().getUID(), l.getBlockX(), l.getBlockY(), l.getBlockZ());
-        }
-    }
-    private record Region(World world, int y, int minX, int minZ, int maxX, int maxZ) {}
-
-    private Region getArenaRegion() {
-        List<Location> list = cfg.getGameArena("ElectricFloor");
-        if (list == null || list.size() < 2) return null;
-
-        Location p = list.get(0), q = list.get(1);
-        if (!Objects.equals(p.getWorld(), q.getWorld())) return null;
-
-        int minX = Math.min(p.getBlockX(), q.getBlockX());
-        int maxX = Math.max(p.getBlockX(), q.getBlockX());
-        int minZ = Math.min(p.getBlockZ(), q.getBlockZ());
-        int maxZ = Math.max(p.getBlockZ(), q.getBlockZ());
-        return new Region(p.getWorld(), p.getBlockY(), minX, minZ, maxX, maxZ);
+    private record StepState(int tile, int nextAllowedTick, int lethalSafeUntilTick) {}
+    private ConfigSnapshot.Floor getArenaRegion() {
+        return cfg.getArena("ElectricFloor", arenaIndex).floor();
     }
 
     public Location getRandomArenaLocation() {
@@ -267,18 +318,18 @@ public class EFMap {
 
     public Location getRandomArenaLocation(boolean safe) {
         int x, z;
-        int y = arena.y;
+        int y = arena.y();
         int tries = 0;
         do {
-            x = ThreadLocalRandom.current().nextInt(arena.minX + 2, arena.maxX - 1);
-            z = ThreadLocalRandom.current().nextInt(arena.minZ + 2, arena.maxZ - 1);
+            x = ThreadLocalRandom.current().nextInt(arena.minX() + 2, arena.maxX() - 1);
+            z = ThreadLocalRandom.current().nextInt(arena.minZ() + 2, arena.maxZ() - 1);
             tries++;
             if (tries > 1000) { // fallback to prevent infinite loop
                 Bukkit.getLogger().info("[EFMap] Cannot find safe place to spawn power-up. Skipping... ");
             }
-        } while (safe && (!arena.world.getBlockAt(x, y, z).getType().isSolid()));
+        } while (safe && (!arena.world().getBlockAt(x, y, z).getType().isSolid()));
 
-        return new Location(arena.world, x, y + 1, z);
+        return new Location(arena.world(), x, y + 1, z);
     }
 
 }
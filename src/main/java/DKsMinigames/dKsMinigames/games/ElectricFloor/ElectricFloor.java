@@ -3,19 +3,20 @@ package DKsMinigames.dKsMinigames.games.ElectricFloor;
 import DKsMinigames.dKsMinigames.games.Minigame;
 import DKsMinigames.dKsMinigames.objects.PowerUp.PowerUp;
 import DKsMinigames.dKsMinigames.objects.PowerUp.PowerUpAbility;
+import DKsMinigames.dKsMinigames.stats.HighScoreStore;
 import DKsMinigames.dKsMinigames.utils.ConfigHelper;
+import DKsMinigames.dKsMinigames.utils.ConfigSnapshot;
 import DKsMinigames.dKsMinigames.utils.FX;
+import DKsMinigames.dKsMinigames.utils.TimingWheel;
 import net.kyori.adventure.text.Component;
 import net.kyori.adventure.text.format.NamedTextColor;
 import net.kyori.adventure.text.format.TextDecoration;
 import net.kyori.adventure.title.Title;
-import org.bukkit.Bukkit;
 import org.bukkit.Location;
 import org.bukkit.Particle;
 import org.bukkit.Sound;
 import org.bukkit.entity.Player;
 import org.bukkit.plugin.Plugin;
-import org.bukkit.scheduler.BukkitTask;
 
 import java.util.*;
 
@@ -25,24 +26,23 @@ public class ElectricFloor extends Minigame {
     private int tick = 0;
     private boolean toEnd = false;
     private final ConfigHelper cfg;
-    private List<Location> arenaCoords;
     private boolean canDecay;
 
-    private BukkitTask powerUpSpawning;
+    private TimingWheel.Timer powerUpSpawning;
     private int POWERUP_SPAWN_RATE = 10;
     private List<PowerUp> powerUpList;
+    private final List<Player> toEliminate = new ArrayList<>(); // reused each tick
 
 
-    public ElectricFloor(Plugin plugin) {
-        super(plugin, "ElectricFloor");
+    public ElectricFloor(Plugin plugin, int arena, HighScoreStore highScores) {
+        super(plugin, "ElectricFloor", arena, highScores);
 
-        this.map = new EFMap(plugin);
+        this.map = new EFMap(plugin, arena, profiler(), budget());
 
         this.setCanChangeInventory(false);
         this.setPlayerCanBeHungry(false);
         this.setPlayerCanBeHurt(false);
         this.cfg = new ConfigHelper(plugin);
-        this.arenaCoords = getConfigHelper().getGameArena(name());
 
         this.canDecay = false;
         this.powerUpList = new ArrayList<PowerUp>();
@@ -86,23 +86,14 @@ public class ElectricFloor extends Minigame {
         this.toEnd = false;
         this.map.reset();
 
-        this.arenaCoords = cfg.getGameArena(this.name());
-
-        Location c1 = arenaCoords.getFirst();
-        Location c2 = arenaCoords.getLast();
-        int minX = Math.min(c1.getBlockX(), c2.getBlockX());
-        int maxX = Math.max(c1.getBlockX(), c2.getBlockX());
-        int minZ = Math.min(c1.getBlockZ(), c2.getBlockZ());
-        int maxZ = Math.max(c1.getBlockZ(), c2.getBlockZ());
-        int y = c1.getBlockY() + 1;
-
+        ConfigSnapshot.Floor f = cfg.getArena(this.name(), arena()).floor();
         forEachPlayer(p -> {
-            int x = rnd().nextInt(minX + 2, maxX - 1);
-            int z = rnd().nextInt(minZ + 2, maxZ - 1);
-            p.teleport(new Location(c1.getWorld(), x + 0.5, y, z + 0.5));
+            int x = rnd().nextInt(f.minX() + 2, f.maxX() - 1);
+            int z = rnd().nextInt(f.minZ() + 2, f.maxZ() - 1);
+            p.teleport(new Location(f.world(), x + 0.5, f.y() + 1, z + 0.5));
         });
 
-        Bukkit.getScheduler().runTaskLater(this.getPlugin(), () -> {
+        timers().after(20L * GRACE_TIME, () -> {
             var title = Component.text( "Don't stop moving!", NamedTextColor.RED, TextDecoration.BOLD);
             var sub = Component.text("Electrify as much of the floor as possible", NamedTextColor.WHITE);
 
@@ -113,24 +104,24 @@ public class ElectricFloor extends Minigame {
             );
             var full = Title.title(title, sub, times);
 
-            forEveryone(p -> p.showTitle(full));
+            everyone().showTitle(full);
             playersPlaySound(Sound.ENTITY_ENDER_DRAGON_DEATH);
             this.canDecay = true;
-        }, 20L * GRACE_TIME);
+        });
 
-        this.powerUpSpawning = Bukkit.getScheduler().runTaskTimer(getPlugin(), () -> {
+        this.powerUpSpawning = timers().every(20L * GRACE_TIME + 20L * POWERUP_SPAWN_RATE, 20L * POWERUP_SPAWN_RATE, () -> profiler().time("ef.powerup", () -> {
            if (state() != State.RUNNING) { stopPowerupSpawning(); }
             spawnRandomPowerUp();
-        }, 20L * GRACE_TIME + 20L * POWERUP_SPAWN_RATE, 20L * POWERUP_SPAWN_RATE);
+        }));
     }
 
     @Override
     protected void onTick() {
         tick++;
-
-        java.util.List<Player> toEliminate = new java.util.ArrayList<>();
+        map.drainDrops(tick);
 
         if (!this.canDecay) return;
+        toEliminate.clear();
 
         this.forEachPlayer(p -> {
             Location loc = p.getLocation().clone().add(0, 0.1, 0);
@@ -141,7 +132,7 @@ public class ElectricFloor extends Minigame {
             if (map.shouldEliminateForFall(loc)) toEliminate.add(p);
         });
 
-        toEliminate.forEach(this::eliminate);
+        if (!toEliminate.isEmpty()) toEliminate.forEach(this::eliminate);
 
         if (this.toEnd) end(this.bestByPoints());
     }
@@ -159,7 +150,7 @@ public class ElectricFloor extends Minigame {
 
     @Override
     protected void onEnd() {
-        Bukkit.getScheduler().runTaskLater(this.getPlugin(), this.map::reset, 20L * cfg.getEndWait());
+        timers().after(20L * cfg.getEndWait(), this.map::reset);
         stopPowerupSpawning();
         clearPowerUps();
     }
@@ -168,7 +159,7 @@ public class ElectricFloor extends Minigame {
         EFPowerUps.PowerUp effect = EFPowerUps.randomPowerUp();
 
         this.powerUpList.add(new PowerUp(
-                this.plugin,
+                timers(),
                 map.getRandomArenaLocation(true),
                 effect.apply(),
                 p -> this.players().contains(p.getUniqueId()),
@@ -0,0 +1,53 @@
+package DKsMinigames.dKsMinigames.games;
+
+import java.util.*;
+
+/**
+ * In-match standings kept sorted as points change (score desc, then name), so the
+ * sidebar table is read off the top once per refresh instead of sorted per viewer.
+ */
+final class Leaderboard {
+    record Standing(UUID id, String name, int points) {}
+
+    private static final Comparator<Standing> ORDER = Comparator
+            .comparingInt(Standing::points).reversed()
+            .thenComparing(Standing::name, String.CASE_INSENSITIVE_ORDER)
+            .thenComparing(Standing::id);
+
+    private final TreeSet<Standing> ranked = new TreeSet<>(ORDER);
+    private final Map<UUID, Standing> byId = new HashMap<>();
+
+    /** Insert or move a member; O(log n). */
+    void put(UUID id, String name, int points) {
+        Standing old = byId.get(id);
+        if (old != null) {
+            if (old.points() == points && old.name().equals(name)) return;
+            ranked.remove(old);
+        }
+        Standing now = new Standing(id, name, points);
+        byId.put(id, now);
+        ranked.add(now);
+    }
+
+    void remove(UUID id) {
+        Standing old = byId.remove(id);
+        if (old != null) ranked.remove(old);
+    }
+
+    void clear() {
+        ranked.clear();
+        byId.clear();
+    }
+
+    int size() { return ranked.size(); }
+
+    /** The best {@code k} standings, best first. */
+    List<Standing> top(int k) {
+        List<Standing> out = new ArrayList<>(Math.min(k, ranked.size()));
+        for (Standing s : ranked) {
+            if (out.size() >= k) break;
+            out.add(s);
+        }
+        return out;
+    }
+}
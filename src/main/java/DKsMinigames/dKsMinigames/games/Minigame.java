@@ -2,106 +2,118 @@ package DKsMinigames.dKsMinigames.games;
 
 import DKsMinigames.dKsMinigames.stats.HighScoreStore;
 import DKsMinigames.dKsMinigames.utils.ConfigHelper;
+import DKsMinigames.dKsMinigames.utils.IoService;
+import DKsMinigames.dKsMinigames.utils.LatencyHistogram;
+import DKsMinigames.dKsMinigames.utils.Sidebar;
+import DKsMinigames.dKsMinigames.utils.TickBudget;
+import DKsMinigames.dKsMinigames.utils.TickProfiler;
+import DKsMinigames.dKsMinigames.utils.TimingWheel;
+import net.kyori.adventure.audience.Audience;
 import net.kyori.adventure.text.Component;
 import net.kyori.adventure.text.TextComponent;
 import net.kyori.adventure.text.format.NamedTextColor;
 import net.kyori.adventure.text.format.TextColor;
 import net.kyori.adventure.text.format.TextDecoration;
-import net.kyori.adventure.text.serializer.plain.PlainTextComponentSerializer;
 import net.kyori.adventure.title.Title;
 import org.bukkit.*;
-import org.bukkit.block.Block;
-import org.bukkit.block.Sign;
-import org.bukkit.block.sign.Side;
-import org.bukkit.configuration.file.FileConfiguration;
 import org.bukkit.entity.Player;
-import org.bukkit.event.EventHandler;
-import org.bukkit.event.Listener;
-import org.bukkit.event.block.Action;
-import org.bukkit.event.block.BlockBreakEvent;
-import org.bukkit.event.block.SignChangeEvent;
-import org.bukkit.event.entity.EntityDamageEvent;
-import org.bukkit.event.entity.EntityPickupItemEvent;
-import org.bukkit.event.entity.FoodLevelChangeEvent;
-import org.bukkit.event.inventory.InventoryClickEvent;
-import org.bukkit.event.inventory.InventoryDragEvent;
-import org.bukkit.event.player.*;
-import org.bukkit.persistence.PersistentDataType;
 import org.bukkit.plugin.Plugin;
-import org.bukkit.scheduler.BukkitTask;
-import org.bukkit.scoreboard.DisplaySlot;
-import org.bukkit.scoreboard.Objective;
-import org.bukkit.scoreboard.Scoreboard;
 
 import java.util.*;
 import java.util.concurrent.ThreadLocalRandom;
 import java.util.function.Consumer;
-import java.util.stream.Collectors;
+import java.util.logging.Level;
 
-public abstract class Minigame implements Listener {
+public abstract class Minigame {
 
     // ===== Constants =====
     public enum State { LOBBY, RUNNING, ENDED }
-    private static final PlainTextComponentSerializer PLAIN = PlainTextComponentSerializer.plainText();
 
     // ===== Fields =====
     protected final Plugin plugin;
     private final String name;
+    private final int arena;                  // index into the game's configured arenas
     private final Component prefix;           // Adventure prefix
-    private final Set<UUID> players = new HashSet<>();
-    private final Set<UUID> spectators = new HashSet<>();
-    private final int minPlayers;
+    private final Roster players = new Roster();      // live handles; removed on leave/quit
+    private final Roster spectators = new Roster();
+    private final Audience everyone = Audience.audience(players, spectators);
     private volatile State state = State.LOBBY;
-    private BukkitTask tickTask;
-    private final NamespacedKey KEY_GAME;
-    private final NamespacedKey KEY_ACTION;
-    private final Set<Location> startSigns = new HashSet<>();
-    private final Location spawn;
+    private TimingWheel.Timer tickTask;
+    private MinigameGroup group;              // owning group (signs, routing); set on registration
     private final ConfigHelper cfg;
-    private BukkitTask lobbyBarTask;
-    private BukkitTask countdownTask;
+    private TimingWheel.Timer lobbyBarTask;
+    private TimingWheel.Timer countdownTask;
 
     // Scoreboard
     private final Map<UUID, Integer> points = new HashMap<>();
-    private final Map<UUID, org.bukkit.scoreboard.Scoreboard> memberBoards = new HashMap<>();
+    private final Leaderboard standings = new Leaderboard();   // online members, kept sorted
+    private final Map<UUID, Sidebar> memberBoards = new HashMap<>();
     private final String objectiveName;
+    private boolean scoreboardDirty = false;  // sidebar re-render pending for the end of this tick
+    private static final int SIDEBAR_HEADER_LINES = 5; // status, score, best, spacer, "Players:"
     private final HighScoreStore highScoreStore;
 
-    // Runtime protection flags (default: allow everything)
-    private boolean canChangeInventory = true;
-    private boolean playerCanBeHurt = true;
-    private boolean playerCanBeHungry = true;
+    // Runtime protections: bits of what members are denied while RUNNING (default: allow everything)
+    static final int PROTECT_INVENTORY = 1;
+    static final int PROTECT_DAMAGE    = 1 << 1;
+    static final int PROTECT_HUNGER    = 1 << 2;
+    private int protections = 0;
     private volatile boolean ending = false;
 
+    // Broadcast caches: prefixed message templates (LRU) and adapted sounds
+    private static final int MESSAGE_CACHE_SIZE = 64;
+    private record Template(String text, TextColor color) {}
+    private final Map<Template, Component> messageCache = new LinkedHashMap<>(MESSAGE_CACHE_SIZE, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<Template, Component> eldest) {
+            return size() > MESSAGE_CACHE_SIZE;
+        }
+    };
+    private final Map<Sound, net.kyori.adventure.sound.Sound> soundCache = new HashMap<>();
+    private Title goTitle;
+
+    // Tick profiling: phase handles are kept so the per-tick path skips the map lookup
+    private final TickProfiler profiler = new TickProfiler();
+    private final LatencyHistogram tickTotal = profiler.phase("tick");
+    private final LatencyHistogram tickPre = profiler.phase("tick.pre");
+    private final LatencyHistogram tickOn = profiler.phase("tick.on");
+    private final LatencyHistogram tickPost = profiler.phase("tick.post");
+    private final LatencyHistogram tickBoard = profiler.phase("tick.scoreboard");
+    private final TickBudget budget;          // sliced block work (floor renders, collapses, resets)
+    private final TimingWheel timers;         // all delayed/repeating game work; cleared on end()
+
     // ===== Construction =====
-    protected Minigame(Plugin plugin, String name) {
+    protected Minigame(Plugin plugin, String name, int arena, HighScoreStore highScoreStore) {
         this.plugin = plugin;
         this.name = name;
-        this.minPlayers = getMinPlayers(plugin, name);
+        this.arena = arena;
         this.prefix = buildPrefix(plugin, name);
-        this.KEY_GAME = new NamespacedKey(plugin, "minigame");
-        this.KEY_ACTION = new NamespacedKey(plugin, "action");
         this.cfg = new ConfigHelper(plugin);
-        this.spawn = this.cfg.getGameSpawn(name);
+        this.budget = new TickBudget(plugin, this.cfg.getTickBudgetMicros(), profiler);
+        this.timers = new TimingWheel(plugin, profiler);
         this.objectiveName = "mg" + Math.abs(name.hashCode());
-        this.highScoreStore = new HighScoreStore(plugin, name);
+        this.highScoreStore = highScoreStore;
     }
 
+    final void attach(MinigameGroup group) { this.group = group; }
+    final MinigameGroup group() { return group; }
+
     // ===== Lifecycle =====
     public final void init() {
-        registerEvents();
         onInit();
-        log(this.name + " has been initialized");
+        log(id() + " has been initialized");
     }
 
     public final void disable() {
         onDisable();
+        clearTimers();
+        budget.drain(); // leave the arena in its final state rather than half-drawn
     }
 
     protected void onDisable() {}
 
     protected boolean canStart() {
-        return playerCount() >= minPlayers && this.state == State.LOBBY;
+        return playerCount() >= minPlayers() && this.state == State.LOBBY;
     }
 
 
@@ -113,10 +125,10 @@ public abstract class Minigame implements Listener {
         final int total = Math.max(1, cfg.getCountdown()); // seconds
         final int[] left = { total };
 
-        countdownTask = Bukkit.getScheduler().runTaskTimer(plugin, () -> {
-            if (state != State.LOBBY || playerCount() < minPlayers) {
+        countdownTask = timers.every(0L, 20L, () -> {
+            if (state != State.LOBBY || playerCount() < minPlayers()) {
                 cancelCountdown();
-                announce("Countdown cancelled — need " + minPlayers + " players.", true);
+                announce("Countdown cancelled — need " + minPlayers() + " players.", true);
                 refreshStartSigns();
                 return;
             }
@@ -124,7 +136,7 @@ public abstract class Minigame implements Listener {
             stopLobbyActionbar();
 
             if (left[0] > 0) {
-                broadcastActionBar(Component.text("Starting in " + left[0] + "…", NamedTextColor.YELLOW));
+                broadcastActionBar("Starting in " + left[0] + "…", NamedTextColor.YELLOW);
                 playPing(1.0f);
                 left[0]--;
                 return;
@@ -136,12 +148,14 @@ public abstract class Minigame implements Listener {
             clearAllTitles();
             broadcastGoTitle();
             state = State.RUNNING;
+            setRunning(true);
             setInvulnerablePlayers(false);
             setInvulnerableSpectators(true);
             try {
                 onStart();
             } catch (Exception e) {
                 state = State.LOBBY;
+                setRunning(false);
                 applyInvulnerabilityForState();
                 log(name + ": failed to start: " + e.getMessage(), true);
                 e.printStackTrace();
@@ -151,11 +165,11 @@ public abstract class Minigame implements Listener {
             initScoreboard();
             refreshScoreboard();
 
-            tickTask = Bukkit.getScheduler().runTaskTimer(getPlugin(), this::tickSafe, 1L, tickPeriodTicks());
-            log(name + " game has started");
+            tickTask = timers.every(1L, tickPeriodTicks(), this::tickSafe);
+            log(id() + " game has started");
             announce("The game has begun!");
             refreshStartSigns();
-        }, 0L, 20L);
+        });
     }
 
     public final void end() { end(null); }
@@ -165,18 +179,21 @@ public abstract class Minigame implements Listener {
         if (ending || state != State.RUNNING) return;
 
         ending = true; // lock re-entry
+        flushScoreboard(); // show the final scores from the last tick before freezing the board
         cancelCountdown();
         state = State.ENDED;
+        setRunning(false);
         applyInvulnerabilityForState();
 
         forEveryone(p -> highScoreStore.recordScore(p, getPoints(p)));
+        highScoreStore.flush(); // one write for the whole match
 
-        if (tickTask != null) tickTask.cancel();
+        clearTimers(); // nothing from this match may fire into the next one
 
         try {
             onEnd(winner != null ? winner.getUniqueId() : null);
         } finally {
-            log(name + " game has ended");
+            log(id() + " game has ended");
             broadcastEndTitle(winner != null ? winner.getName() : null);
             clearXpBars();
             clearInventoriesAll();
@@ -186,12 +203,11 @@ public abstract class Minigame implements Listener {
         }
 
         long delay = 20L * cfg.getEndWait(); // seconds -> ticks
-        Bukkit.getScheduler().runTaskLater(plugin, () -> {
+        timers.after(delay, () -> {
             if (state != State.ENDED) return;
 
             teleportPlayersToSpawn();
-            players.addAll(spectators);
-            spectators.clear();
+            players.takeAll(spectators);
 
             state = State.LOBBY;
             applyInvulnerabilityForState();
@@ -203,8 +219,8 @@ public abstract class Minigame implements Listener {
             if (winner != null) announce("The winner was " + winner.getName());
 
             ending = false; // allow future games to end again
-            log(name + " reset to lobby");
-        }, delay);
+            log(id() + " reset to lobby");
+        });
     }
 
 
@@ -228,17 +244,18 @@ public abstract class Minigame implements Listener {
         }
 
         boolean added = switch (state) {
-            case LOBBY, ENDED -> players.add(id);
-            case RUNNING -> spectators.add(id);
+            case LOBBY, ENDED -> players.add(p);
+            case RUNNING -> spectators.add(p);
         };
 
         if (!added) {
             announcePlayer("Cannot join game. Try again later", p, true);
             return false;
         }
+        bindSession(id);
 
         onJoin(p);
-        if (teleport) p.teleport(spawn);
+        if (teleport) p.teleport(spawn());
 
         p.setInvulnerable(state != State.RUNNING);
 
@@ -268,7 +285,7 @@ public abstract class Minigame implements Listener {
         }
 
         players.remove(id);
-        boolean added = spectators.add(id);
+        boolean added = spectators.add(p);
         if (added) {
             onSpectate(p);
             p.setInvulnerable(true); // ⟵ always invulnerable as spectator
@@ -291,6 +308,7 @@ public abstract class Minigame implements Listener {
             announcePlayer("You aren't in this game", p, true);
             return false;
         }
+        unbindSession(id);
 
         onLeave(p);
 
@@ -316,10 +334,10 @@ public abstract class Minigame implements Listener {
         UUID id = p.getUniqueId();
         if (!players.remove(id)) return false;
 
-        boolean added = spectators.add(id);
+        boolean added = spectators.add(p);
         if (added) {
             onEliminate(p);
-            p.teleport(spawn);
+            p.teleport(spawn());
             p.setInvulnerable(true); // ⟵ eliminated = spectator, always invulnerable
             log(p.getName() + " has been eliminated in " + name);
             announce(p.getName() + " has been eliminated!");
@@ -330,12 +348,13 @@ public abstract class Minigame implements Listener {
         return added;
     }
 
-    @EventHandler public void onPlayerQuit(PlayerQuitEvent e) { handleDisconnect(e.getPlayer()); }
-    @EventHandler public void onPlayerKick(PlayerKickEvent e) { handleDisconnect(e.getPlayer()); }
-
-    private void handleDisconnect(Player p) {
+    // Quit/kick arrive through the SessionRouter, only for members of this match.
+    void handleDisconnect(Player p) {
         if (p == null) return;
         boolean wasIn = players.remove(p.getUniqueId()) | spectators.remove(p.getUniqueId());
+        unbindSession(p.getUniqueId());
+        detachScoreboard(p); // same as leave(): board, points and standing go with them
+        refreshScoreboard();
         if (wasIn) announce(p.getName() + " left.");
         if (players.isEmpty() && spectators.isEmpty() && state == State.RUNNING) end();
         refreshStartSigns();
@@ -350,56 +369,58 @@ public abstract class Minigame implements Listener {
     protected void announcePlayer(String m, Player p) { announcePlayer(m, p, false); }
 
     protected void announcePlayer(String m, Player p, boolean error) {
-        TextColor col = error ? NamedTextColor.RED : NamedTextColor.WHITE;
-        p.sendMessage(prefix.append(Component.space()).append(Component.text(m, col)));
+        p.sendMessage(prefixed(m, error ? NamedTextColor.RED : NamedTextColor.WHITE));
     }
 
-    private void announceTo(String m, boolean error, Collection<Collection<UUID>> groups) {
-        TextColor col = error ? NamedTextColor.RED : NamedTextColor.WHITE;
-        Component msg = prefix.append(Component.space()).append(Component.text(m, col));
-        for (Collection<UUID> g : groups) {
-            for (UUID id : g) {
-                Player p = Bukkit.getPlayer(id);
-                if (p != null) p.sendMessage(msg);
-            }
-        }
+    private void announceTo(String m, boolean error, Audience audience) {
+        audience.sendMessage(prefixed(m, error ? NamedTextColor.RED : NamedTextColor.WHITE));
     }
 
-    private void announceTo(String m, Collection<Collection<UUID>> groups) { announceTo(m, false, groups); }
+    protected void playersAnnounce(String m) { announceTo(m, false, players); }
+    protected void playersAnnounce(String m, boolean error) { announceTo(m, error, players); }
+    protected void spectatorsAnnounce(String m) { announceTo(m, false, spectators); }
+    protected void spectatorsAnnounce(String m, boolean e)   { announceTo(m, e, spectators); }
+    protected void announce(String m) { announceTo(m, false, everyone); }
+    protected void announce(String m, boolean e) { announceTo(m, e, everyone); }
+
+    /** "[Game] text" in the given colour; repeated messages reuse the built component. */
+    protected Component prefixed(String m, TextColor col) {
+        return messageCache.computeIfAbsent(new Template(m, col),
+                t -> prefix.append(Component.space()).append(Component.text(t.text(), t.color())));
+    }
 
-    protected void playersAnnounce(String m) { announceTo(m, List.of(players)); }
-    protected void playersAnnounce(String m, boolean error) { announceTo(m, error, List.of(players)); }
-    protected void spectatorsAnnounce(String m) { announceTo(m, List.of(spectators)); }
-    protected void spectatorsAnnounce(String m, boolean e)   { announceTo(m, e, List.of(spectators)); }
-    protected void announce(String m) { announceTo(m, List.of(players, spectators)); }
-    protected void announce(String m, boolean e) { announceTo(m, e, List.of(players, spectators)); }
+    // Live audiences over the roster; they follow joins/leaves without being rebuilt.
+    protected Audience playersAudience() { return players; }
+    protected Audience spectatorsAudience() { return spectators; }
+    protected Audience everyone() { return everyone; }
 
     private void startLobbyActionbar() {
         if (lobbyBarTask != null) return;
-        lobbyBarTask = plugin.getServer().getScheduler().runTaskTimer(plugin, () -> {
+        lobbyBarTask = timers.every(0L, 40L, () -> {
             if (state == State.LOBBY) {
-                if (playerCount() >= minPlayers) {
-                    broadcastActionBar(Component.text("Ready to start", NamedTextColor.YELLOW));
+                if (playerCount() >= minPlayers()) {
+                    broadcastActionBar("Ready to start", NamedTextColor.YELLOW);
                 } else {
-                    broadcastActionBar(Component.text("Waiting for players " + playerCount() + "/" + minPlayers, NamedTextColor.YELLOW));
+                    broadcastActionBar("Waiting for players " + playerCount() + "/" + minPlayers(), NamedTextColor.YELLOW);
                 }
             } else if (state == State.ENDED) {
-                broadcastActionBar(Component.text("Game ended back to lobby", NamedTextColor.GRAY));
+                broadcastActionBar("Game ended back to lobby", NamedTextColor.GRAY);
             }
-        }, 0L, 40L);
+        });
     }
 
     private void broadcastGoTitle() {
-        var title = Component.text(name + " has begun", NamedTextColor.GREEN);
-        var sub = Component.text("Good luck!", NamedTextColor.WHITE);
-        var times = Title.Times.times(
-                java.time.Duration.ofMillis(200),
-                java.time.Duration.ofSeconds(2),
-                java.time.Duration.ofMillis(400)
-        );
-        var full = Title.title(title, sub, times);
-
-        forEveryone(p -> p.showTitle(full));
+        if (goTitle == null) {
+            var title = Component.text(name + " has begun", NamedTextColor.GREEN);
+            var sub = Component.text("Good luck!", NamedTextColor.WHITE);
+            var times = Title.Times.times(
+                    java.time.Duration.ofMillis(200),
+                    java.time.Duration.ofSeconds(2),
+                    java.time.Duration.ofMillis(400)
+            );
+            goTitle = Title.title(title, sub, times);
+        }
+        everyone.showTitle(goTitle);
     }
 
     private void broadcastEndTitle() { broadcastEndTitle(null); }
@@ -416,8 +437,7 @@ public abstract class Minigame implements Listener {
         );
         var full = Title.title(title, sub, times);
 
-        for (UUID id : players)     { var p = Bukkit.getPlayer(id); if (p != null) p.showTitle(full); }
-        for (UUID id : spectators)  { var p = Bukkit.getPlayer(id); if (p != null) p.showTitle(full); }
+        everyone.showTitle(full);
     }
 
     private void cancelCountdown() {
@@ -428,15 +448,19 @@ public abstract class Minigame implements Listener {
         if (lobbyBarTask != null) { lobbyBarTask.cancel(); lobbyBarTask = null; }
     }
 
-    private void broadcastActionBar(Component body) {
-        Component msg = prefix.append(Component.space()).append(body);
-        players.forEach(id -> { var p = Bukkit.getPlayer(id); if (p != null) p.sendActionBar(msg); });
-        spectators.forEach(id -> { var p = Bukkit.getPlayer(id); if (p != null) p.sendActionBar(msg); });
+    private void clearTimers() {
+        timers.clear();
+        tickTask = null;
+        countdownTask = null;
+        lobbyBarTask = null;
+    }
+
+    private void broadcastActionBar(String m, TextColor col) {
+        everyone.sendActionBar(prefixed(m, col));
     }
 
     private void clearAllTitles() {
-        for (UUID id : players)    { var pl = Bukkit.getPlayer(id); if (pl != null) pl.clearTitle(); }
-        for (UUID id : spectators) { var sp = Bukkit.getPlayer(id); if (sp  != null) sp.clearTitle(); }
+        everyone.clearTitle();
     }
 
     private void clearPlayerTitles(Player p) { p.clearTitle(); }
@@ -457,20 +481,47 @@ public abstract class Minigame implements Listener {
 
     // ===== Queries =====
     public String name() { return name; }
+    public int arena() { return arena; }
+    public String id() { return name + "#" + (arena + 1); }
     public State state() { return state; }
     public int playerCount() { return players.size(); }
+    public int memberCount() { return players.size() + spectators.size(); }
+    // Read through the config snapshot so a reload takes effect without a restart.
+    public int minPlayers() { return cfg.snapshot().game(name).minPlayers(); }
+    protected Location spawn() { return cfg.getGameSpawn(name, arena); }
+    /** Timings for this instance; subclasses record scheduled round work here too. */
+    protected TickProfiler profiler() { return profiler; }
+    /** Per-game budget for block work that would otherwise spike a single tick. */
+    protected TickBudget budget() { return budget; }
+
+    /** Plugin-wide background disk I/O (available from init() on). */
+    protected IoService io() { return group.io(); }
+
+    /** The game's timing wheel; schedule delayed/repeating match work here so end() can drop it in bulk. */
+    protected TimingWheel timers() { return timers; }
     public boolean isRunning() { return state == State.RUNNING; }
-    public Set<UUID> players() { return Collections.unmodifiableSet(players); }
-    public Set<UUID> spectators() { return Collections.unmodifiableSet(spectators); }
+    public Set<UUID> players() { return players.ids(); }
+    public Set<UUID> spectators() { return spectators.ids(); }
 
     // ===== Internals =====
     private void tickSafe() {
         try {
+            long t0 = System.nanoTime();
             preTick();
+            long t1 = System.nanoTime();
             onTick();
+            long t2 = System.nanoTime();
             postTick();
+            long t3 = System.nanoTime();
+            flushScoreboard();
+            long t4 = System.nanoTime();
+            tickPre.record(t1 - t0);
+            tickOn.record(t2 - t1);
+            tickPost.record(t3 - t2);
+            tickBoard.record(t4 - t3);
+            tickTotal.record(t4 - t0);
         } catch (Throwable t) {
-            log("Error during " + name + ". Ending game...");
+            plugin.getLogger().log(Level.SEVERE, "Error during " + id() + " tick. Ending game...", t);
             end();
         }
     }
@@ -479,18 +530,18 @@ public abstract class Minigame implements Listener {
     protected void postTick() {}
 
     protected Plugin getPlugin() { return this.plugin; }
-    protected void registerEvents() { Bukkit.getPluginManager().registerEvents(this, getPlugin()); }
-    protected void unregisterEvents() { org.bukkit.event.HandlerList.unregisterAll(this); }
+
+    private void bindSession(UUID id) { if (group != null) group.sessions().bind(id, this); }
+    private void unbindSession(UUID id) { if (group != null) group.sessions().unbind(id, this); }
+    private void setRunning(boolean on) { if (group != null) group.sessions().setRunning(this, on); }
     protected ThreadLocalRandom rnd() { return ThreadLocalRandom.current(); }
 
     // ===== Config helpers =====
     protected static Component buildPrefix(Plugin plugin, String name) {
-        var m = plugin.getConfig().getMapList("games").stream()
-                .filter(x -> name.equalsIgnoreCase((String) x.get("name")))
-                .findFirst().orElseThrow(() -> new IllegalStateException("No " + name + " config!"));
+        var m = new ConfigHelper(plugin).snapshot().game(name);
 
-        TextColor primary = parseColor((String) m.get("primary-color"));
-        TextColor secondary = parseColor((String) m.get("secondary-color"));
+        TextColor primary = parseColor(m.primaryColor());
+        TextColor secondary = parseColor(m.secondaryColor());
 
         TextComponent.Builder b = Component.text();
         b.append(Component.text("[", primary).decorate(TextDecoration.BOLD));
@@ -500,15 +551,6 @@ public abstract class Minigame implements Listener {
         return b.build();
     }
 
-    protected static int getMinPlayers(Plugin plugin, String name) {
-        FileConfiguration c = plugin.getConfig();
-        Map<?, ?> m = c.getMapList("games").stream()
-                .filter(x -> name.equalsIgnoreCase((String) x.get("name")))
-                .findFirst()
-                .orElseThrow(() -> new IllegalStateException("No " + name + " config!"));
-        return ((Number) m.get("min-players")).intValue();
-    }
-
     private static TextColor parseColor(String raw) {
         if (raw == null) return NamedTextColor.WHITE;
         String s = raw.trim().toLowerCase(Locale.ROOT);
@@ -519,155 +561,30 @@ public abstract class Minigame implements Listener {
         return hex != null ? hex : NamedTextColor.WHITE;
     }
 
-    private Component prefixComponent() { return prefix; }
+    Component prefixComponent() { return prefix; }
     protected ConfigHelper getConfigHelper() { return this.cfg; }
 
-    // ===== Sign handlers =====
-    @EventHandler
-    public void onSignCreate(SignChangeEvent e) {
-        String l0 = PLAIN.serialize(Objects.requireNonNullElse(e.line(0), Component.empty()));
-        if (!name.equalsIgnoreCase(l0)) return;
-
-        String action = Optional.ofNullable(e.line(2)).map(PLAIN::serialize)
-                .filter(s -> !s.isBlank()).orElse("Join");
-
-        e.line(0, prefixComponent());
-        e.line(1, Component.empty());
-        e.line(2, Component.text(action));
-        e.line(3, Component.empty());
-
-        Sign sign = (Sign) e.getBlock().getState();
-        sign.setWaxed(true);
-        sign.getPersistentDataContainer().set(KEY_GAME,   PersistentDataType.STRING, name.toLowerCase(Locale.ROOT));
-        sign.getPersistentDataContainer().set(KEY_ACTION, PersistentDataType.STRING, action.toLowerCase(Locale.ROOT));
-
-        if ("start".equalsIgnoreCase(action)) {
-            startSigns.add(sign.getLocation());
-            refreshStartSigns();
-        }
-        sign.update(true);
-    }
-
-    @EventHandler(ignoreCancelled = true)
-    public void onSignBreak(BlockBreakEvent e) {
-        if (!(e.getBlock().getState() instanceof Sign sign)) return;
-
-        var pdc = sign.getPersistentDataContainer();
-        String g = pdc.get(KEY_GAME, PersistentDataType.STRING);
-        String a = pdc.get(KEY_ACTION, PersistentDataType.STRING);
-        if (g == null || !g.equalsIgnoreCase(name)) return;
-
-        if (!e.getPlayer().hasPermission("dksminigames.editsigns." + name.toLowerCase(Locale.ROOT))) {
-            e.setCancelled(true);
-            sign.getSide(Side.FRONT).line(0, prefixComponent());
-            sign.getSide(Side.FRONT).line(1, Component.empty());
-            sign.getSide(Side.FRONT).line(2, Component.text(a != null ? a : ""));
-            sign.getSide(Side.FRONT).line(3, Component.empty());
-            sign.setWaxed(true);
-            sign.update(true);
-            e.getPlayer().sendMessage(prefix.append(Component.space()).append(Component.text("This sign is protected.", NamedTextColor.RED)));
-        }
-    }
-
-    @EventHandler(ignoreCancelled = true)
-    public void onSignClick(PlayerInteractEvent e) {
-        if (e.getAction() != Action.RIGHT_CLICK_BLOCK) return;
-        Block b = e.getClickedBlock(); if (b == null) return;
-        if (!(b.getState() instanceof Sign sign)) return;
-
-        var pdc = sign.getPersistentDataContainer();
-        String g = pdc.get(KEY_GAME, PersistentDataType.STRING);
-        String a = pdc.get(KEY_ACTION, PersistentDataType.STRING);
-        if (g == null || a == null || !g.equalsIgnoreCase(name)) return;
-
-        e.setCancelled(true);
-
-        switch (a.toLowerCase(Locale.ROOT)) {
-            case "join"  -> { join(e.getPlayer(), true); return; }
-            case "leave" -> { leave(e.getPlayer()); return; }
-            case "start" -> {
-                if (e.getPlayer().hasPermission("dksminigames.start." + name.toLowerCase(Locale.ROOT))) start();
-                return;
-            }
-            case "end" -> {
-                if (e.getPlayer().hasPermission("dksminigames.end." + name.toLowerCase(Locale.ROOT))) end();
-                return;
-            }
-            default -> e.getPlayer().sendMessage(prefix.append(Component.space()).append(Component.text("Unknown action.", NamedTextColor.RED)));
-        }
-    }
-
     private void refreshStartSigns() {
-        boolean glow = canStart();
-        for (Location loc : startSigns) {
-            var state = loc.getBlock().getState();
-            if (state instanceof Sign s) {
-                s.getSide(Side.FRONT).setGlowingText(glow);
-                s.update(true, false);
-            }
-        }
-    }
-
-    // ===== Protections (active only while RUNNING & in this game) =====
-    public void setCanChangeInventory(boolean e) { this.canChangeInventory = e; }
-    public void setPlayerCanBeHurt(boolean e) { this.playerCanBeHurt = e; }
-    public void setPlayerCanBeHungry(boolean e) { this.playerCanBeHungry = e; }
-
-    private boolean activeAndInGame(Player p) {
-        return state == State.RUNNING && isInGame(p);
+        if (group != null) group.refreshStartSigns();
     }
 
-    @EventHandler(ignoreCancelled = true)
-    public void onInventoryClick(InventoryClickEvent e) {
-        if (!(e.getWhoClicked() instanceof Player p)) return;
-        if (!activeAndInGame(p)) return;
-        if (!canChangeInventory) e.setCancelled(true);
-    }
+    // ===== Protections (active only while RUNNING & in this game; enforced by ProtectionListener) =====
+    public void setCanChangeInventory(boolean e) { protect(PROTECT_INVENTORY, !e); }
+    public void setPlayerCanBeHurt(boolean e) { protect(PROTECT_DAMAGE, !e); }
+    public void setPlayerCanBeHungry(boolean e) { protect(PROTECT_HUNGER, !e); }
 
-    @EventHandler(ignoreCancelled = true)
-    public void onInventoryDrag(InventoryDragEvent e) {
-        if (!(e.getWhoClicked() instanceof Player p)) return;
-        if (!activeAndInGame(p)) return;
-        if (!canChangeInventory) e.setCancelled(true);
+    private void protect(int flag, boolean on) {
+        protections = on ? (protections | flag) : (protections & ~flag);
     }
 
-    @EventHandler(ignoreCancelled = true)
-    public void onDrop(PlayerDropItemEvent e) {
-        if (!activeAndInGame(e.getPlayer())) return;
-        if (!canChangeInventory) e.setCancelled(true);
+    // Membership is already established by the SessionRouter; only the match state matters here.
+    final boolean denies(int flag) {
+        return (protections & flag) != 0 && state == State.RUNNING;
     }
 
-    @EventHandler(ignoreCancelled = true)
-    public void onSwap(PlayerSwapHandItemsEvent e) {
-        if (!activeAndInGame(e.getPlayer())) return;
-        if (!canChangeInventory) e.setCancelled(true);
-    }
-
-    @EventHandler(ignoreCancelled = true)
-    public void onDamage(EntityDamageEvent e) {
-        if (!(e.getEntity() instanceof Player p)) return;
-        if (!activeAndInGame(p)) return;
-        if (!playerCanBeHurt) e.setCancelled(true);
-    }
-
-    @EventHandler(ignoreCancelled = true)
-    public void onHunger(FoodLevelChangeEvent e) {
-        if (!(e.getEntity() instanceof Player p)) return;
-        if (!activeAndInGame(p)) return;
-        if (!playerCanBeHungry) {
-            e.setCancelled(true);
-            e.setFoodLevel(20);
-            p.setSaturation(20f);
-        }
-    }
-
-
     // ===== Player helpers =====
     protected List<Player> getPlayers() {
-        return players.stream()
-            .map(Bukkit::getPlayer)   // UUID → Player (null if offline)
-            .filter(p -> p != null && p.isOnline())
-            .collect(Collectors.toList());
+        return players.snapshot();
     }
 
     protected boolean isInGame(Player p) {
@@ -675,18 +592,13 @@ public abstract class Minigame implements Listener {
         return players.contains(u) || spectators.contains(u);
     }
 
+    // Callers must not add/remove members from inside the action (collect first, as onTick does).
     protected void forEachPlayer(Consumer<Player> action) {
-        players.forEach(uuid -> {
-            Player p = Bukkit.getPlayer(uuid);
-            if (p != null && p.isOnline()) action.accept(p);
-        });
+        for (int i = 0, n = players.size(); i < n; i++) action.accept(players.get(i));
     }
 
     protected void forEachSpectator(Consumer<Player> action) {
-        spectators.forEach(uuid -> {
-            Player p = Bukkit.getPlayer(uuid);
-            if (p != null && p.isOnline()) action.accept(p);
-        });
+        for (int i = 0, n = spectators.size(); i < n; i++) action.accept(spectators.get(i));
     }
 
     protected void forEveryone(Consumer<Player> action) {
@@ -699,48 +611,43 @@ public abstract class Minigame implements Listener {
     }
 
     protected void playersPlaySound(Sound sound) {
-        forEveryone(p -> p.playSound(p, sound, SoundCategory.MASTER, 1.0f, 1.0f));
+        var s = soundCache.computeIfAbsent(sound, k ->
+                net.kyori.adventure.sound.Sound.sound(k, net.kyori.adventure.sound.Sound.Source.MASTER, 1.0f, 1.0f));
+        everyone.playSound(s, net.kyori.adventure.sound.Sound.Emitter.self());
     }
 
     protected @org.jetbrains.annotations.Nullable Player bestByPoints() {
-        UUID bestId = null;
+        Player bestP = null;
         int best = Integer.MIN_VALUE;
         boolean tie = false;
 
         // check all players + spectators
-        for (UUID id : players()) {
-            int s = getPoints(id);
-            if (s > best) {
-                best = s;
-                bestId = id;
-                tie = false; // new leader
-            } else if (s == best && bestId != null) {
-                tie = true;  // found equal top
-            }
-        }
-        for (UUID id : spectators()) {
-            int s = getPoints(id);
-            if (s > best) {
-                best = s;
-                bestId = id;
-                tie = false;
-            } else if (s == best && bestId != null) {
-                tie = true;
+        for (Roster r : new Roster[] { players, spectators }) {
+            for (int i = 0, n = r.size(); i < n; i++) {
+                Player p = r.get(i);
+                int s = getPoints(p);
+                if (s > best) {
+                    best = s;
+                    bestP = p;
+                    tie = false; // new leader
+                } else if (s == best && bestP != null) {
+                    tie = true;  // found equal top
+                }
             }
         }
 
-        if (tie || bestId == null) return null; // null → “no winner”
-        return Bukkit.getPlayer(bestId);
+        if (tie || bestP == null) return null; // null → “no winner”
+        return bestP;
     }
 
 
 
     // ===== Helpers (Minigame) =====
     protected void setInvulnerablePlayers(boolean v) {
-        players().forEach(id -> { var p = Bukkit.getPlayer(id); if (p != null) p.setInvulnerable(v); });
+        forEachPlayer(p -> p.setInvulnerable(v));
     }
     protected void setInvulnerableSpectators(boolean v) {
-        spectators().forEach(id -> { var p = Bukkit.getPlayer(id); if (p != null) p.setInvulnerable(v); });
+        forEachSpectator(p -> p.setInvulnerable(v));
     }
     protected void setInvulnerableAll(boolean v) {
         setInvulnerablePlayers(v);
@@ -748,7 +655,8 @@ public abstract class Minigame implements Listener {
     }
 
     private void teleportPlayersToSpawn() {
-        forEachPlayer(p -> p.teleport(spawn));
+        Location to = spawn();
+        forEachPlayer(p -> p.teleport(to));
     }
 
     protected void clearXpBars() {
@@ -771,9 +679,10 @@ public abstract class Minigame implements Listener {
     // ===== Points / Scoreboard =====
     protected void initScoreboard() {
         points.clear();
+        standings.clear();
         // initialise everyone (players + spectators) to 0 and attach a fresh board
         forEveryone(pl -> {
-            points.put(pl.getUniqueId(), 0);
+            putPoints(pl, 0);
             attachBoard(pl);
         });
 
@@ -784,38 +693,49 @@ public abstract class Minigame implements Listener {
 
     protected void joinScoreboard(Player p) {
         if (!isInGame(p)) return;
-        points.putIfAbsent(p.getUniqueId(), 0);
-        attachBoard(p);
+        putPoints(p, points.getOrDefault(p.getUniqueId(), 0));
+        if (!memberBoards.containsKey(p.getUniqueId())) attachBoard(p);
 
         if (state == State.LOBBY || state == State.ENDED) {
             renderDefaultSidebar(p);
         }
     }
 
+    /** Marks the sidebar stale; all changes within one tick are rendered once, after postTick. */
     protected void refreshScoreboard() {
         if (state != State.RUNNING) return;   // keep last shown board after GAME OVER
-        forEveryone(this::renderSidebarFor);
+        scoreboardDirty = true;
+    }
+
+    private void flushScoreboard() {
+        if (!scoreboardDirty) return;
+        scoreboardDirty = false;
+        if (state != State.RUNNING) return;
+        // the table is the same for every viewer; only the header lines are per viewer
+        List<String> table = renderTable(Sidebar.MAX_LINES - SIDEBAR_HEADER_LINES);
+        forEveryone(viewer -> renderSidebarFor(viewer, table));
     }
 
     protected void addScoreboard(Player p, int delta) {
         if (p == null || !isInGame(p)) return;
-        points.merge(p.getUniqueId(), delta, Integer::sum);
+        putPoints(p, points.getOrDefault(p.getUniqueId(), 0) + delta);
         refreshScoreboard();
     }
 
+    // Single write path for points of online members, keeping the standings in step.
+    private void putPoints(Player p, int value) {
+        points.put(p.getUniqueId(), value);
+        standings.put(p.getUniqueId(), p.getName(), value);
+    }
+
     // ===== Internal scoreboard utils =====
     private void attachBoard(Player p) {
         org.bukkit.scoreboard.ScoreboardManager sm = Bukkit.getScoreboardManager();
         if (sm == null) return;
 
         org.bukkit.scoreboard.Scoreboard sb = sm.getNewScoreboard();
-        memberBoards.put(p.getUniqueId(), sb);
-
-        // create objective each time; we re-render content on refresh
-        org.bukkit.scoreboard.Objective obj =
-                sb.getObjective(objectiveName) != null ? sb.getObjective(objectiveName)
-                        : sb.registerNewObjective(objectiveName, "dummy", PLAIN.serialize(prefix));
-        obj.setDisplaySlot(org.bukkit.scoreboard.DisplaySlot.SIDEBAR);
+        // objective + line slots are created once per board; refreshes only diff the lines
+        memberBoards.put(p.getUniqueId(), new Sidebar(sb, objectiveName, prefix));
 
         // ensure teams for colour-coding names
         ensureTeam(sb, "active", NamedTextColor.WHITE);
@@ -831,6 +751,7 @@ public abstract class Minigame implements Listener {
         org.bukkit.scoreboard.ScoreboardManager sm = Bukkit.getScoreboardManager();
         if (sm != null) p.setScoreboard(sm.getMainScoreboard());
         points.remove(p.getUniqueId());
+        standings.remove(p.getUniqueId());
     }
 
     private void resetMemberScoreboards() {
@@ -839,23 +760,16 @@ public abstract class Minigame implements Listener {
         forEveryone(pl -> { if (main != null) pl.setScoreboard(main); });
         memberBoards.clear();
         points.clear();
+        standings.clear();
     }
 
-    private void renderSidebarFor(Player viewer) {
-        org.bukkit.scoreboard.Scoreboard sb = memberBoards.get(viewer.getUniqueId());
+    private void renderSidebarFor(Player viewer, List<String> table) {
+        Sidebar sb = memberBoards.get(viewer.getUniqueId());
         if (sb == null) { attachBoard(viewer); sb = memberBoards.get(viewer.getUniqueId()); }
         if (sb == null) return;
 
-        // nuke existing lines by unregistering & re-registering the objective (keeps title)
-        Objective old = sb.getObjective(objectiveName);
-        if (old != null) old.unregister();
-
-        Objective obj = sb.registerNewObjective(objectiveName, "dummy", ""); // dummy name
-        obj.setDisplaySlot(DisplaySlot.SIDEBAR);
-        obj.displayName(prefix);
-
-        // build lines, max 15; we keep them unique by suffixing invisible counters where needed
-        List<String> lines = new ArrayList<>(15);
+        // build lines, max 15; each goes to a fixed slot so duplicates are fine
+        List<String> lines = new ArrayList<>(Sidebar.MAX_LINES);
 
         // 1) Player stats for the viewer
         boolean playing = isPlaying(viewer);
@@ -865,82 +779,52 @@ public abstract class Minigame implements Listener {
         lines.add("§7Your Status: " + stateCol + state);
         int myScore = points.getOrDefault(viewer.getUniqueId(), 0);
         lines.add("§7Your Score: §f" + myScore);
-        int myBest = highScoreStore.getHighScore(viewer.getUniqueId());
-        lines.add("§7Your Best: §f" + myBest);
+        lines.add(bestLine(viewer));
 
         lines.add(" "); // spacer
 
-        // 2) Current game table (players and their points)
+        // 2) Current game table (players and their points), shared by all viewers
         lines.add("§6Players:");
-        // sort by score desc, then name
-        List<Player> everyone = new ArrayList<>();
-        forEachPlayer(everyone::add);
-        forEachSpectator(everyone::add);
-        everyone.sort(Comparator
-                .comparingInt((Player pl) -> points.getOrDefault(pl.getUniqueId(), 0)).reversed()
-                .thenComparing(Player::getName, String.CASE_INSENSITIVE_ORDER));
-
-        int budget = 15 - lines.size(); // room left for entries
-        int shown = 0;
-        for (Player pl : everyone) {
-            if (shown >= budget) break;
-            boolean elim = spectators.contains(pl.getUniqueId());
-            String nameCol = elim ? "§7" : "§f";
-            int sc = points.getOrDefault(pl.getUniqueId(), 0);
-            lines.add(nameCol + trimTo(pl.getName(), 12) + " §8: §f" + sc);
-            shown++;
-        }
+        lines.addAll(table);
 
-        // push to objective with descending scores so it renders top→bottom
-        int score = lines.size();
-        for (String ln : lines) {
-            // unique entry trick: append §r repeats to avoid duplicate line collisions
-            String unique = uniquify(sb, ln);
-            obj.getScore(unique).setScore(score--);
+        sb.render(lines);
+    }
+
+    // Top of the standings as sidebar rows: score desc, then name.
+    private List<String> renderTable(int budget) {
+        List<String> rows = new ArrayList<>(budget);
+        for (Leaderboard.Standing st : standings.top(budget)) {
+            String nameCol = spectators.contains(st.id()) ? "§7" : "§f";
+            rows.add(nameCol + trimTo(st.name(), 12) + " §8: §f" + st.points());
         }
+        return rows;
     }
 
     private void renderDefaultSidebar(Player viewer) {
-        Scoreboard sb = memberBoards.get(viewer.getUniqueId());
+        Sidebar sb = memberBoards.get(viewer.getUniqueId());
         if (sb == null) {
             attachBoard(viewer);
             sb = memberBoards.get(viewer.getUniqueId());
         }
         if (sb == null) return;
 
-        // wipe and re-register objective
-        Objective old = sb.getObjective(objectiveName);
-        if (old != null) old.unregister();
-        Objective obj = sb.registerNewObjective(objectiveName, "dummy", "");
-        obj.setDisplaySlot(DisplaySlot.SIDEBAR);
-        obj.displayName(prefix); // coloured title
-
         List<String> lines = new ArrayList<>();
         lines.add("§7Waiting in lobby…");
-        lines.add("§7Players: §f" + playerCount() + "/" + minPlayers);
-        int best = highScoreStore.getHighScore(viewer.getUniqueId());
-        lines.add("§7Your Best: §f" + best);
+        lines.add("§7Players: §f" + playerCount() + "/" + minPlayers());
+        lines.add(bestLine(viewer));
 
-        int score = lines.size();
-        for (String ln : lines) {
-            obj.getScore(ln).setScore(score--);
-        }
+        sb.render(lines);
     }
 
-    private static String trimTo(String s, int max) {
-        return s.length() <= max ? s : s.substring(0, Math.max(0, max - 1)) + "…";
-    }
-
-    private String uniquify(org.bukkit.scoreboard.Scoreboard sb, String base) {
-        String out = base;
-        int i = 0;
-        while (hasEntry(sb, out) && i < 10) { out = base + "§r".repeat(++i); }
-        return out;
+    // All-time best with the viewer's rank among everyone who has played this game.
+    private String bestLine(Player viewer) {
+        int best = highScoreStore.getHighScore(viewer.getUniqueId());
+        int rank = highScoreStore.getRank(viewer.getUniqueId());
+        return "§7Your Best: §f" + best + (rank > 0 ? " §8(#" + rank + "/" + highScoreStore.size() + ")" : "");
     }
 
-    private boolean hasEntry(org.bukkit.scoreboard.Scoreboard sb, String e) {
-        for (String ex : sb.getEntries()) if (ex.equals(e)) return true;
-        return false;
+    private static String trimTo(String s, int max) {
+        return s.length() <= max ? s : s.substring(0, Math.max(0, max - 1)) + "…";
     }
 
     private void ensureTeam(org.bukkit.scoreboard.Scoreboard sb, String key, NamedTextColor color) {
@@ -953,8 +837,9 @@ public abstract class Minigame implements Listener {
 
     // Call when a player flips between active↔eliminated to keep name colour in tab/nametag if you like:
     private void applyNameTeam(Player pl) {
-        org.bukkit.scoreboard.Scoreboard sb = memberBoards.get(pl.getUniqueId());
-        if (sb == null) return;
+        Sidebar side = memberBoards.get(pl.getUniqueId());
+        if (side == null) return;
+        org.bukkit.scoreboard.Scoreboard sb = side.board();
         boolean elim = spectators.contains(pl.getUniqueId());
         org.bukkit.scoreboard.Team active = sb.getTeam("active");
         org.bukkit.scoreboard.Team elimT  = sb.getTeam("elim");
@@ -970,12 +855,15 @@ public abstract class Minigame implements Listener {
 
     protected void setPoints(Player p, int newScore) {
         if (p == null || !isInGame(p)) return;
-        points.put(p.getUniqueId(), newScore);
+        putPoints(p, newScore);
         refreshScoreboard();
     }
 
     protected void setPoints(UUID id, int newScore) {
-        points.put(id, newScore);
+        Player p = players.find(id);
+        if (p == null) p = spectators.find(id);
+        if (p != null) putPoints(p, newScore);
+        else points.put(id, newScore);
         refreshScoreboard();
     }
 
@@ -985,20 +873,14 @@ public abstract class Minigame implements Listener {
         if (players.isEmpty()) {
             p.sendMessage(Component.text(" (none)", NamedTextColor.GRAY));
         } else {
-            for (UUID id : players) {
-                Player pl = Bukkit.getPlayer(id);
-                p.sendMessage(Component.text(" - " + (pl != null ? pl.getName() : id), NamedTextColor.GREEN));
-            }
+            forEachPlayer(pl -> p.sendMessage(Component.text(" - " + pl.getName(), NamedTextColor.GREEN)));
         }
 
         p.sendMessage(prefix.append(Component.space()).append(Component.text("Spectators:", NamedTextColor.GOLD)));
         if (spectators.isEmpty()) {
             p.sendMessage(Component.text(" (none)", NamedTextColor.GRAY));
         } else {
-            for (UUID id : spectators) {
-                Player pl = Bukkit.getPlayer(id);
-                p.sendMessage(Component.text(" - " + (pl != null ? pl.getName() : id), NamedTextColor.AQUA));
-            }
+            forEachSpectator(pl -> p.sendMessage(Component.text(" - " + pl.getName(), NamedTextColor.AQUA)));
         }
     }
 
@@ -1017,11 +899,12 @@ public abstract class Minigame implements Listener {
             case "join"   -> { this.join(p); return true; }
             case "leave"  -> { this.leave(p); return true; }
             case "players"-> { this.printPlayerInfo(p); return true; }
+            case "profile" -> { return handleProfile(Arrays.copyOfRange(args, 1, args.length), p); }
             case "highscore", "hs", "top" -> { return handleHighscore(Arrays.copyOfRange(args, 1, args.length), p); }
             default -> {
                 // let child classes try; if they return false, show a short hint
                 if (onCommand(args, p)) return true;
-                announcePlayer("Unknown command. Try: start | end | join | leave | players | highscore", p, true);
+                announcePlayer("Unknown command. Try: start | end | join | leave | players | highscore | profile", p, true);
                 return true;
             }
         }
@@ -1030,21 +913,81 @@ public abstract class Minigame implements Listener {
     // Child hooks; override in subclasses for custom commands.
     protected boolean onCommand(String[] args, Player p) { return false; }
 
+    // --- Profile subcommand handling ---
+    private boolean handleProfile(String[] args, Player p) {
+        // /<minigame> profile [reset]
+        if (!p.hasPermission("dks.debug")) { announcePlayer("No permission.", p, true); return true; }
+        if (args.length > 0 && args[0].equalsIgnoreCase("reset")) {
+            profiler.reset();
+            announcePlayer("Profiler reset for " + id() + ".", p, false);
+            return true;
+        }
+        announcePlayer("Timings for " + id() + ":", p, false);
+        for (String line : profiler.report()) p.sendMessage(Component.text(line, NamedTextColor.GRAY));
+        return true;
+    }
+
     // --- Highscore subcommand handling ---
     private boolean handleHighscore(String[] args, Player p) {
         // /<minigame> highscore
         if (args.length == 0) {
             int hs = highScoreStore.getHighScore(p.getUniqueId());
             int gp = highScoreStore.getGamesPlayed(p.getUniqueId());
-            announcePlayer("Your high score: " + hs + " (games: " + gp + ")", p, false);
+            int rank = highScoreStore.getRank(p.getUniqueId());
+            announcePlayer("Your high score: " + hs + " (games: " + gp
+                    + (rank > 0 ? ", rank #" + rank + " of " + highScoreStore.size() : "") + ")", p, false);
             return true;
         }
 
         String q = args[0];
 
+        // export <format>: copy the scores into another storage format before switching to it
+        if (q.equalsIgnoreCase("export") && args.length >= 2) {
+            if (!p.hasPermission("dks.debug")) { announcePlayer("No permission.", p, true); return true; }
+            String to = args[1];
+            highScoreStore.exportTo(to).whenComplete((n, ex) -> Bukkit.getScheduler().runTask(plugin, () -> {
+                if (ex != null) {
+                    Throwable cause = ex.getCause() != null ? ex.getCause() : ex;
+                    announcePlayer("Export failed: " + cause.getMessage(), p, true);
+                } else {
+                    announcePlayer("Exported " + n + " player(s) to " + to.toLowerCase(Locale.ROOT)
+                            + "; set highscores.format and restart to use it.", p, false);
+                }
+            }));
+            return true;
+        }
+
+        // day|week|season [rank]: the current period's board
+        HighScoreStore.Window window = HighScoreStore.Window.parse(q);
+        if (window != null) {
+            String period = highScoreStore.periodName(window);
+            if (args.length >= 2 && !args[1].isEmpty() && args[1].chars().allMatch(Character::isDigit)) {
+                int rank;
+                try { rank = Integer.parseInt(args[1]); }
+                catch (NumberFormatException e) { announcePlayer(period + ": no entry for rank #" + args[1], p, true); return true; }
+                if (rank < 1) { announcePlayer("Rank must be 1 or more.", p, true); return true; }
+                var res = highScoreStore.getByRank(window, rank);
+                if (res.isPresent()) announcePlayer(period + " #" + rank + ": " + res.get().playerName + " — " + res.get().score, p, false);
+                else announcePlayer(period + ": no entry for rank #" + rank, p, true);
+                return true;
+            }
+            var top = highScoreStore.getTop(window, 5);
+            if (top.isEmpty()) { announcePlayer(period + ": no scores yet", p, false); return true; }
+            announcePlayer(period + "'s best:", p, false);
+            for (int i = 0; i < top.size(); i++) {
+                p.sendMessage(Component.text(" #" + (i + 1) + " " + top.get(i).playerName + " — " + top.get(i).score, NamedTextColor.GRAY));
+            }
+            int mine = highScoreStore.getRank(window, p.getUniqueId());
+            if (mine > 0) p.sendMessage(Component.text(" You: #" + mine + " of " + highScoreStore.size(window), NamedTextColor.GRAY));
+            return true;
+        }
+
         // rank: digits only => 1 is best
         if (q.chars().allMatch(Character::isDigit)) {
-            int rank = Integer.parseInt(q);
+            int rank;
+            try { rank = Integer.parseInt(q); }
+            catch (NumberFormatException e) { announcePlayer("No entry for rank #" + q, p, true); return true; }
+            if (rank < 1) { announcePlayer("Rank must be 1 or more.", p, true); return true; }
             var res = highScoreStore.getByRank(rank);
             if (res.isPresent()) {
                 var t = res.get();
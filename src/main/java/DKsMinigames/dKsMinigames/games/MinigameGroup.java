@@ -0,0 +1,248 @@
+package DKsMinigames.dKsMinigames.games;
+
+import DKsMinigames.dKsMinigames.stats.HighScoreStore;
+import DKsMinigames.dKsMinigames.utils.ConfigHelper;
+import DKsMinigames.dKsMinigames.utils.ConfigSnapshot;
+import DKsMinigames.dKsMinigames.utils.IoService;
+import net.kyori.adventure.text.Component;
+import net.kyori.adventure.text.format.NamedTextColor;
+import net.kyori.adventure.text.serializer.plain.PlainTextComponentSerializer;
+import org.bukkit.NamespacedKey;
+import org.bukkit.block.Block;
+import org.bukkit.block.Sign;
+import org.bukkit.block.sign.Side;
+import org.bukkit.entity.Player;
+import org.bukkit.event.block.BlockBreakEvent;
+import org.bukkit.event.block.SignChangeEvent;
+import org.bukkit.persistence.PersistentDataType;
+import org.bukkit.plugin.Plugin;
+
+import java.util.*;
+
+/**
+ * All running instances of one game type, one per configured arena.
+ * Owns what is shared between matches (signs, high scores, command routing)
+ * and places joining players into the least-loaded instance.
+ */
+public final class MinigameGroup {
+
+    /** Builds the match instance for one arena of this game. */
+    @FunctionalInterface
+    public interface Factory {
+        Minigame create(int arena, HighScoreStore highScores);
+    }
+
+    private static final PlainTextComponentSerializer PLAIN = PlainTextComponentSerializer.plainText();
+
+    private final Plugin plugin;
+    private final SessionRouter sessions;
+    private final IoService io;
+    private final String name;
+    private final Component prefix;
+    private final List<Minigame> instances;
+    private final NamespacedKey KEY_GAME;
+    private final NamespacedKey KEY_ACTION;
+    private final SignRegistry signs;
+    private final HighScoreStore highScores;
+
+    public MinigameGroup(Plugin plugin, SessionRouter sessions, IoService io, String name, Factory factory) {
+        this.plugin = plugin;
+        this.sessions = sessions;
+        this.io = io;
+        this.name = name;
+        this.prefix = Minigame.buildPrefix(plugin, name);
+        this.KEY_GAME = new NamespacedKey(plugin, "minigame");
+        this.KEY_ACTION = new NamespacedKey(plugin, "action");
+        this.signs = new SignRegistry(plugin, io, name);
+
+        this.highScores = new HighScoreStore(plugin, io, name);
+        int arenas = new ConfigHelper(plugin).getArenaCount(name);
+        List<Minigame> list = new ArrayList<>(arenas);
+        for (int i = 0; i < arenas; i++) {
+            Minigame game = factory.create(i, highScores);
+            game.attach(this);
+            list.add(game);
+        }
+        this.instances = List.copyOf(list);
+    }
+
+    // ===== Lifecycle =====
+    public void init() {
+        instances.forEach(Minigame::init);
+        refreshStartSigns();
+    }
+
+    public void disable() {
+        instances.forEach(Minigame::disable);
+        highScores.close();
+    }
+
+    /**
+     * Refuse a reloaded config this group cannot run on: its game must still be there with at least
+     * as many arenas as it has instances, since each instance keeps reading its own arena.
+     */
+    public void checkConfig(ConfigSnapshot next) {
+        int arenas = next.game(name).arenas().size();
+        if (arenas < instances.size()) {
+            throw new IllegalStateException(name + " is running " + instances.size()
+                    + " arena(s) but the new config has " + arenas);
+        }
+    }
+
+    // ===== Queries =====
+    public String name() { return name; }
+    public List<Minigame> instances() { return instances; }
+    SessionRouter sessions() { return sessions; }
+    IoService io() { return io; }
+
+    /** The instance the player is currently in (as player or spectator), or null. */
+    public Minigame instanceOf(Player p) {
+        Minigame g = sessions.sessionOf(p);
+        return (g != null && g.group() == this) ? g : null;
+    }
+
+    /**
+     * Lobbies take players before running matches (where they would only spectate);
+     * within each kind the instance with the fewest members wins.
+     */
+    public Minigame leastLoaded() {
+        Minigame best = null;
+        for (Minigame g : instances) {
+            if (best == null || compareLoad(g, best) < 0) best = g;
+        }
+        return best;
+    }
+
+    private static int compareLoad(Minigame a, Minigame b) {
+        boolean aOpen = a.state() != Minigame.State.RUNNING;
+        boolean bOpen = b.state() != Minigame.State.RUNNING;
+        if (aOpen != bOpen) return aOpen ? -1 : 1;
+        return Integer.compare(a.memberCount(), b.memberCount());
+    }
+
+    // Instance a command/sign acts on: the player's own match, else the first arena.
+    private Minigame target(Player p) {
+        Minigame own = instanceOf(p);
+        return own != null ? own : instances.getFirst();
+    }
+
+    // ===== Roster =====
+    public boolean join(Player p, boolean teleport) {
+        Minigame own = instanceOf(p);
+        if (own != null) {
+            own.announcePlayer("You are already in this game", p, true);
+            return false;
+        }
+        return leastLoaded().join(p, teleport);
+    }
+
+    // ===== Commands =====
+    public boolean command(String[] args, Player p) {
+        if (args != null && args.length > 0) {
+            switch (args[0].toLowerCase(Locale.ROOT)) {
+                case "join" -> {
+                    if (args.length < 2) { join(p, false); return true; }
+                    Minigame chosen = byArenaNumber(args[1]);
+                    if (chosen == null) { announcePlayer("Unknown arena: " + args[1], p, true); return true; }
+                    if (instanceOf(p) != null) { announcePlayer("You are already in this game", p, true); return true; }
+                    chosen.join(p);
+                    return true;
+                }
+                case "arenas" -> { printArenas(p); return true; }
+            }
+        }
+        return target(p).command(args, p);
+    }
+
+    private Minigame byArenaNumber(String raw) {
+        try {
+            int n = Integer.parseInt(raw);
+            return (n >= 1 && n <= instances.size()) ? instances.get(n - 1) : null;
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+
+    private void printArenas(Player p) {
+        announcePlayer("Arenas:", p, false);
+        for (Minigame g : instances) {
+            p.sendMessage(Component.text(" #" + (g.arena() + 1) + " " + g.state()
+                    + " (" + g.playerCount() + " playing, " + g.memberCount() + " total)", NamedTextColor.GRAY));
+        }
+    }
+
+    private void announcePlayer(String m, Player p, boolean error) {
+        p.sendMessage(prefix.append(Component.space())
+                .append(Component.text(m, error ? NamedTextColor.RED : NamedTextColor.WHITE)));
+    }
+
+    // ===== Signs (events arrive through the plugin's one SignListener) =====
+    SignRegistry signs() { return signs; }
+
+    /** Turn a freshly written sign whose first line names this game into one of its action signs. */
+    void createSign(SignChangeEvent e) {
+        String action = Optional.ofNullable(e.line(2)).map(PLAIN::serialize)
+                .filter(s -> !s.isBlank()).orElse("Join");
+
+        e.line(0, prefix);
+        e.line(1, Component.empty());
+        e.line(2, Component.text(action));
+        e.line(3, Component.empty());
+
+        Sign sign = (Sign) e.getBlock().getState();
+        sign.setWaxed(true);
+        sign.getPersistentDataContainer().set(KEY_GAME,   PersistentDataType.STRING, name.toLowerCase(Locale.ROOT));
+        sign.getPersistentDataContainer().set(KEY_ACTION, PersistentDataType.STRING, action.toLowerCase(Locale.ROOT));
+
+        signs.put(e.getBlock(), action.toLowerCase(Locale.ROOT));
+        if ("start".equalsIgnoreCase(action)) sign.getSide(Side.FRONT).setGlowingText(anyCanStart());
+        sign.update(true);
+    }
+
+    /** Refuse the break of this game's sign to players who may not edit it, restoring its text. */
+    void protectSign(BlockBreakEvent e, String action) {
+        if (e.getPlayer().hasPermission("dksminigames.editsigns." + name.toLowerCase(Locale.ROOT))) return;
+        e.setCancelled(true);
+        if (!(e.getBlock().getState() instanceof Sign sign)) return;
+        sign.getSide(Side.FRONT).line(0, prefix);
+        sign.getSide(Side.FRONT).line(1, Component.empty());
+        sign.getSide(Side.FRONT).line(2, Component.text(action));
+        sign.getSide(Side.FRONT).line(3, Component.empty());
+        sign.setWaxed(true);
+        sign.update(true);
+        e.getPlayer().sendMessage(prefix.append(Component.space()).append(Component.text("This sign is protected.", NamedTextColor.RED)));
+    }
+
+    /** Register a sign tagged as ours before the registry existed; fixes its glow on the way. */
+    void adoptSign(Block b, Sign sign, String action) {
+        signs.put(b, action);
+        if ("start".equals(action) && sign.getSide(Side.FRONT).isGlowingText() != anyCanStart()) {
+            sign.getSide(Side.FRONT).setGlowingText(anyCanStart());
+            sign.update(true, false);
+        }
+    }
+
+    void clickSign(Player p, String action) {
+        switch (action) {
+            case "join"  -> join(p, true);
+            case "leave" -> target(p).leave(p);
+            case "start" -> {
+                if (p.hasPermission("dksminigames.start." + name.toLowerCase(Locale.ROOT))) target(p).start();
+            }
+            case "end" -> {
+                if (p.hasPermission("dksminigames.end." + name.toLowerCase(Locale.ROOT))) target(p).end();
+            }
+            default -> p.sendMessage(prefix.append(Component.space()).append(Component.text("Unknown action.", NamedTextColor.RED)));
+        }
+    }
+
+    /** Start signs glow while any arena of this game could start; signs are only touched when that flips. */
+    void refreshStartSigns() {
+        signs.setGlow(anyCanStart());
+    }
+
+    private boolean anyCanStart() {
+        for (Minigame g : instances) if (g.canStart()) return true;
+        return false;
+    }
+}
@@ -0,0 +1,62 @@
+package DKsMinigames.dKsMinigames.games;
+
+import org.bukkit.entity.Player;
+import org.bukkit.event.EventHandler;
+import org.bukkit.event.Listener;
+import org.bukkit.event.entity.EntityDamageEvent;
+import org.bukkit.event.entity.FoodLevelChangeEvent;
+import org.bukkit.event.inventory.InventoryClickEvent;
+import org.bukkit.event.inventory.InventoryDragEvent;
+import org.bukkit.event.player.PlayerDropItemEvent;
+import org.bukkit.event.player.PlayerSwapHandItemsEvent;
+
+import java.util.UUID;
+
+/**
+ * Member protections for every game, in one listener. Each event is one session lookup
+ * plus a test of the owning match's protection bits. {@link SessionRouter} registers it
+ * only while at least one match is running, so idle servers pay nothing for these events.
+ */
+final class ProtectionListener implements Listener {
+    private final SessionRouter sessions;
+
+    ProtectionListener(SessionRouter sessions) { this.sessions = sessions; }
+
+    private boolean denies(UUID id, int flag) {
+        Minigame g = sessions.sessionOf(id);
+        return g != null && g.denies(flag);
+    }
+
+    @EventHandler(ignoreCancelled = true)
+    public void onInventoryClick(InventoryClickEvent e) {
+        if (e.getWhoClicked() instanceof Player p && denies(p.getUniqueId(), Minigame.PROTECT_INVENTORY)) e.setCancelled(true);
+    }
+
+    @EventHandler(ignoreCancelled = true)
+    public void onInventoryDrag(InventoryDragEvent e) {
+        if (e.getWhoClicked() instanceof Player p && denies(p.getUniqueId(), Minigame.PROTECT_INVENTORY)) e.setCancelled(true);
+    }
+
+    @EventHandler(ignoreCancelled = true)
+    public void onDrop(PlayerDropItemEvent e) {
+        if (denies(e.getPlayer().getUniqueId(), Minigame.PROTECT_INVENTORY)) e.setCancelled(true);
+    }
+
+    @EventHandler(ignoreCancelled = true)
+    public void onSwap(PlayerSwapHandItemsEvent e) {
+        if (denies(e.getPlayer().getUniqueId(), Minigame.PROTECT_INVENTORY)) e.setCancelled(true);
+    }
+
+    @EventHandler(ignoreCancelled = true)
+    public void onDamage(EntityDamageEvent e) {
+        if (e.getEntity() instanceof Player p && denies(p.getUniqueId(), Minigame.PROTECT_DAMAGE)) e.setCancelled(true);
+    }
+
+    @EventHandler(ignoreCancelled = true)
+    public void onHunger(FoodLevelChangeEvent e) {
+        if (!(e.getEntity() instanceof Player p) || !denies(p.getUniqueId(), Minigame.PROTECT_HUNGER)) return;
+        e.setCancelled(true);
+        e.setFoodLevel(20);
+        p.setSaturation(20f);
+    }
+}
@@ -0,0 +1,70 @@
+package DKsMinigames.dKsMinigames.games;
+
+import net.kyori.adventure.audience.Audience;
+import net.kyori.adventure.audience.ForwardingAudience;
+import org.bukkit.entity.Player;
+
+import java.util.*;
+
+/**
+ * Live Player handles for one side of a match (players or spectators).
+ * Membership checks are by UUID; iteration is over a dense list by index, so
+ * per-tick loops need neither a Bukkit.getPlayer lookup nor an iterator.
+ * Handles are dropped on quit, so everything in here is online.
+ * As a ForwardingAudience it is a live broadcast target that never needs rebuilding.
+ */
+final class Roster implements ForwardingAudience {
+    private final Map<UUID, Integer> index = new HashMap<>();
+    private final ArrayList<Player> list = new ArrayList<>();
+    private final Set<UUID> ids = Collections.unmodifiableSet(index.keySet());
+    private final List<Player> view = Collections.unmodifiableList(list);
+
+    boolean add(Player p) {
+        if (index.putIfAbsent(p.getUniqueId(), list.size()) != null) return false;
+        list.add(p);
+        return true;
+    }
+
+    /** Swap-remove: O(1), does not keep order. */
+    boolean remove(UUID id) {
+        Integer at = index.remove(id);
+        if (at == null) return false;
+        int last = list.size() - 1;
+        Player moved = list.remove(last);
+        if (at != last) {
+            list.set(at, moved);
+            index.put(moved.getUniqueId(), at);
+        }
+        return true;
+    }
+
+    /** Moves everyone from {@code other} into this roster. */
+    void takeAll(Roster other) {
+        for (int i = 0, n = other.list.size(); i < n; i++) add(other.list.get(i));
+        other.clear();
+    }
+
+    void clear() {
+        index.clear();
+        list.clear();
+    }
+
+    boolean contains(UUID id) { return index.containsKey(id); }
+    int size() { return list.size(); }
+    boolean isEmpty() { return list.isEmpty(); }
+    Player get(int i) { return list.get(i); }
+
+    /** Handle for a member, or null. */
+    Player find(UUID id) {
+        Integer at = index.get(id);
+        return at != null ? list.get(at) : null;
+    }
+
+    /** Read-only live view of the member UUIDs. */
+    Set<UUID> ids() { return ids; }
+
+    List<Player> snapshot() { return new ArrayList<>(list); }
+
+    @Override
+    public Iterable<? extends Audience> audiences() { return view; }
+}
@@ -0,0 +1,60 @@
+package DKsMinigames.dKsMinigames.games;
+
+import org.bukkit.Bukkit;
+import org.bukkit.entity.Player;
+import org.bukkit.event.EventHandler;
+import org.bukkit.event.HandlerList;
+import org.bukkit.event.Listener;
+import org.bukkit.event.player.PlayerKickEvent;
+import org.bukkit.event.player.PlayerQuitEvent;
+import org.bukkit.plugin.Plugin;
+
+import java.util.*;
+
+/**
+ * Plugin-wide owner of "which match is this player in". Registered once, so each
+ * player event costs one map lookup and is handed only to the game that owns the
+ * player, however many games or arenas are loaded. Also switches the shared
+ * {@link ProtectionListener} on and off as matches start and stop.
+ */
+public final class SessionRouter implements Listener {
+    private final Plugin plugin;
+    private final Map<UUID, Minigame> sessions = new HashMap<>();
+    private final Set<Minigame> running = Collections.newSetFromMap(new IdentityHashMap<>());
+    private final ProtectionListener protection = new ProtectionListener(this);
+
+    public SessionRouter(Plugin plugin) { this.plugin = plugin; }
+
+    // ===== Sessions =====
+    void bind(UUID id, Minigame game) { sessions.put(id, game); }
+
+    void unbind(UUID id, Minigame game) { sessions.remove(id, game); }
+
+    /** The match the player is in (as player or spectator), or null. */
+    public Minigame sessionOf(UUID id) { return sessions.get(id); }
+
+    public Minigame sessionOf(Player p) { return sessions.get(p.getUniqueId()); }
+
+    public int size() { return sessions.size(); }
+
+    // ===== Protection =====
+    /** Track matches entering/leaving RUNNING; protections are listened for only while any is running. */
+    void setRunning(Minigame game, boolean on) {
+        boolean wasIdle = running.isEmpty();
+        if (on) running.add(game); else running.remove(game);
+        if (wasIdle && !running.isEmpty()) {
+            Bukkit.getPluginManager().registerEvents(protection, plugin);
+        } else if (!wasIdle && running.isEmpty()) {
+            HandlerList.unregisterAll(protection);
+        }
+    }
+
+    // ===== Dispatch =====
+    @EventHandler public void onPlayerQuit(PlayerQuitEvent e) { disconnect(e.getPlayer()); }
+    @EventHandler public void onPlayerKick(PlayerKickEvent e) { disconnect(e.getPlayer()); }
+
+    private void disconnect(Player p) {
+        Minigame g = sessions.get(p.getUniqueId());
+        if (g != null) g.handleDisconnect(p);
+    }
+}
@@ -0,0 +1,163 @@
+package DKsMinigames.dKsMinigames.games;
+
+import DKsMinigames.dKsMinigames.utils.LongHashMap;
+import net.kyori.adventure.text.Component;
+import net.kyori.adventure.text.serializer.plain.PlainTextComponentSerializer;
+import org.bukkit.NamespacedKey;
+import org.bukkit.Tag;
+import org.bukkit.block.Block;
+import org.bukkit.block.Sign;
+import org.bukkit.entity.Player;
+import org.bukkit.event.EventHandler;
+import org.bukkit.event.EventPriority;
+import org.bukkit.event.Listener;
+import org.bukkit.event.block.Action;
+import org.bukkit.event.block.BlockBreakEvent;
+import org.bukkit.event.block.BlockPlaceEvent;
+import org.bukkit.event.block.SignChangeEvent;
+import org.bukkit.event.player.PlayerInteractEvent;
+import org.bukkit.event.world.ChunkLoadEvent;
+import org.bukkit.persistence.PersistentDataType;
+import org.bukkit.plugin.Plugin;
+
+import java.util.*;
+
+/**
+ * Plugin-wide owner of the sign events. Registered once, so a click, break or edit is looked
+ * up in every game's {@link SignRegistry} in one pass and handed only to the game that owns
+ * the sign, however many games are loaded. Signs found to belong to no game are remembered,
+ * so clicking them again costs a probe instead of a BlockState snapshot until the sign is
+ * edited, placed again or broken.
+ */
+public final class SignListener implements Listener {
+    private static final PlainTextComponentSerializer PLAIN = PlainTextComponentSerializer.plainText();
+    private static final long CLICK_COOLDOWN_MS = 250;
+
+    /** A game's sign and its action. */
+    private record Hit(MinigameGroup group, String action) {}
+
+    private final List<MinigameGroup> groups;
+    private final NamespacedKey KEY_GAME;
+    private final NamespacedKey KEY_ACTION;
+    // world name -> packed positions of signs checked and found to be no game's
+    private final Map<String, LongHashMap<Boolean>> foreign = new HashMap<>();
+    private final Map<UUID, Long> lastClick = new HashMap<>();
+
+    public SignListener(Plugin plugin, List<MinigameGroup> groups) {
+        this.groups = groups;
+        this.KEY_GAME = new NamespacedKey(plugin, "minigame");
+        this.KEY_ACTION = new NamespacedKey(plugin, "action");
+    }
+
+    // ===== Dispatch =====
+    @EventHandler
+    public void onSignCreate(SignChangeEvent e) {
+        forgetForeign(e.getBlock()); // edited: check it afresh next click
+        String l0 = PLAIN.serialize(Objects.requireNonNullElse(e.line(0), Component.empty()));
+        for (MinigameGroup g : groups) {
+            if (g.name().equalsIgnoreCase(l0)) {
+                g.createSign(e);
+                return;
+            }
+        }
+    }
+
+    @EventHandler(ignoreCancelled = true)
+    public void onSignBreak(BlockBreakEvent e) {
+        Hit hit = actionAt(e.getBlock());
+        if (hit != null) hit.group().protectSign(e, hit.action());
+    }
+
+    // Runs after protection above, so only breaks that actually happen unregister the sign.
+    @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+    public void onSignBroken(BlockBreakEvent e) {
+        Block b = e.getBlock();
+        forgetForeign(b);
+        for (MinigameGroup g : groups) {
+            if (g.signs().remove(b)) return;
+        }
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+    public void onBlockPlaced(BlockPlaceEvent e) {
+        forgetForeign(e.getBlock());
+    }
+
+    @EventHandler
+    public void onChunkLoad(ChunkLoadEvent e) {
+        for (MinigameGroup g : groups) g.signs().onChunkLoad(e.getChunk());
+    }
+
+    @EventHandler(ignoreCancelled = true)
+    public void onSignClick(PlayerInteractEvent e) {
+        if (e.getAction() != Action.RIGHT_CLICK_BLOCK) return;
+        Block b = e.getClickedBlock(); if (b == null) return;
+        Hit hit = actionAt(b);
+        if (hit == null) return;
+
+        e.setCancelled(true);
+        Player p = e.getPlayer();
+        if (bounced(p)) return;
+        hit.group().clickSign(p, hit.action());
+    }
+
+    // ===== Lookup =====
+
+    /**
+     * The game sign at {@code b}, or null. Ordinary blocks cost one hash probe per game; only
+     * blocks that are signs but not yet registered (placed before the registries existed) are
+     * snapshotted, once: a game's are registered with it on the way through, others marked foreign.
+     */
+    private Hit actionAt(Block b) {
+        boolean isSign = Tag.ALL_SIGNS.isTagged(b.getType());
+        for (MinigameGroup g : groups) {
+            String a = g.signs().actionAt(b);
+            if (a == null) continue;
+            if (isSign) return new Hit(g, a);
+            g.signs().remove(b); // replaced by something else without a break event (explosion, WorldEdit...)
+            return null;
+        }
+        if (!isSign || isForeign(b) || !(b.getState() instanceof Sign sign)) return null;
+
+        var pdc = sign.getPersistentDataContainer();
+        String game = pdc.get(KEY_GAME, PersistentDataType.STRING);
+        String a = pdc.get(KEY_ACTION, PersistentDataType.STRING);
+        if (game != null && a != null) {
+            for (MinigameGroup g : groups) {
+                if (!g.name().equalsIgnoreCase(game)) continue;
+                a = a.toLowerCase(Locale.ROOT);
+                g.adoptSign(b, sign, a);
+                return new Hit(g, a);
+            }
+        }
+        markForeign(b);
+        return null;
+    }
+
+    private boolean isForeign(Block b) {
+        LongHashMap<Boolean> inWorld = foreign.get(b.getWorld().getName());
+        return inWorld != null && inWorld.containsKey(SignRegistry.pack(b.getX(), b.getY(), b.getZ()));
+    }
+
+    private void markForeign(Block b) {
+        foreign.computeIfAbsent(b.getWorld().getName(), k -> new LongHashMap<>()).put(SignRegistry.pack(b.getX(), b.getY(), b.getZ()), Boolean.TRUE);
+    }
+
+    // Drop the not-ours mark at b: the sign there was edited, replaced or broken.
+    private void forgetForeign(Block b) {
+        LongHashMap<Boolean> inWorld = foreign.get(b.getWorld().getName());
+        if (inWorld == null) return;
+        inWorld.remove(SignRegistry.pack(b.getX(), b.getY(), b.getZ()));
+        if (inWorld.isEmpty()) foreign.remove(b.getWorld().getName());
+    }
+
+    // One accepted sign click per player per cooldown; also swallows the off-hand duplicate event.
+    private boolean bounced(Player p) {
+        long now = System.currentTimeMillis();
+        Long last = lastClick.get(p.getUniqueId());
+        if (last != null && now - last < CLICK_COOLDOWN_MS) return true;
+        if (lastClick.size() >= 64) lastClick.values().removeIf(t -> now - t >= CLICK_COOLDOWN_MS);
+        lastClick.put(p.getUniqueId(), now);
+        return false;
+    }
+}
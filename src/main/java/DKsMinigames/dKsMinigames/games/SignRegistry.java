@@ -0,0 +1,228 @@
+package DKsMinigames.dKsMinigames.games;
+
+import DKsMinigames.dKsMinigames.utils.IoService;
+import DKsMinigames.dKsMinigames.utils.LongHashMap;
+import org.bukkit.Bukkit;
+import org.bukkit.Chunk;
+import org.bukkit.World;
+import org.bukkit.block.Block;
+import org.bukkit.block.Sign;
+import org.bukkit.block.sign.Side;
+import org.bukkit.block.sign.SignSide;
+import org.bukkit.configuration.file.YamlConfiguration;
+import org.bukkit.plugin.Plugin;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.*;
+
+/**
+ * Action signs of one game, persisted to {@code signs/<game>.yml} so they survive restarts;
+ * the file is read on the I/O service and merged in on the main thread once it is parsed.
+ * Lookups by block are a packed-position hash probe, so clicks on ordinary blocks never
+ * snapshot a BlockState. Start signs are also indexed by chunk: glow is written only when
+ * it flips, only to loaded chunks, and a chunk's signs are brought up to date when it loads.
+ * Events reach it through the plugin's one {@link SignListener}.
+ */
+final class SignRegistry {
+    record SignPos(String world, int x, int y, int z) {
+        static SignPos of(Block b) { return new SignPos(b.getWorld().getName(), b.getX(), b.getY(), b.getZ()); }
+        long chunkKey() { return chunkKey(x >> 4, z >> 4); }
+        static long chunkKey(int cx, int cz) { return ((long) cx << 32) | (cz & 0xFFFFFFFFL); }
+        long key() { return pack(x, y, z); }
+    }
+
+    // 26 bits x | 26 bits z | 12 bits y, as vanilla packs block positions
+    static long pack(int x, int y, int z) {
+        return ((long) (x & 0x3FFFFFF) << 38) | ((long) (z & 0x3FFFFFF) << 12) | (y & 0xFFF);
+    }
+
+    private final Plugin plugin;
+    private final IoService io;
+    private final File file;
+    private final Map<SignPos, String> actions = new HashMap<>();
+    // world name -> packed position -> action; the click/break fast path
+    private final Map<String, LongHashMap<String>> byBlock = new HashMap<>();
+    // world name -> chunk key -> start signs in that chunk
+    private final Map<String, Map<Long, List<SignPos>>> startByChunk = new HashMap<>();
+    private Boolean glow = null; // last glow state written; null until the first refresh
+
+    SignRegistry(Plugin plugin, IoService io, String gameName) {
+        this.plugin = plugin;
+        this.io = io;
+        this.file = new File(new File(plugin.getDataFolder(), "signs"), gameName.toLowerCase(Locale.ROOT) + ".yml");
+        io.sync(io.submit(file, this::read), this::adopt);
+    }
+
+    int size() { return actions.size(); }
+
+    /** Action of the registered sign at {@code b}, or null. Does not touch the block's state. */
+    String actionAt(Block b) {
+        LongHashMap<String> inWorld = byBlock.get(b.getWorld().getName());
+        return inWorld == null ? null : inWorld.get(pack(b.getX(), b.getY(), b.getZ()));
+    }
+
+    /** Register (or re-label) the sign at {@code b}; the caller sets its initial glow. */
+    void put(Block b, String action) {
+        SignPos pos = SignPos.of(b);
+        String old = actions.put(pos, action);
+        if (action.equals(old)) return;
+        byBlock.computeIfAbsent(pos.world(), k -> new LongHashMap<>()).put(pos.key(), action);
+        if ("start".equals(old)) unindexStart(pos);
+        if ("start".equals(action)) indexStart(pos);
+        save();
+    }
+
+    boolean remove(Block b) {
+        SignPos pos = SignPos.of(b);
+        String old = actions.remove(pos);
+        if (old == null) return false;
+        unindexBlock(pos);
+        if ("start".equals(old)) unindexStart(pos);
+        save();
+        return true;
+    }
+
+    /** Set start-sign glow; a no-op unless it differs from what was last written. */
+    void setGlow(boolean on) {
+        if (glow != null && glow == on) return;
+        glow = on;
+        List<SignPos> stale = new ArrayList<>();
+        for (var perWorld : startByChunk.entrySet()) {
+            World w = Bukkit.getWorld(perWorld.getKey());
+            if (w == null) continue;
+            for (var chunk : perWorld.getValue().values()) {
+                for (SignPos pos : chunk) {
+                    if (!w.isChunkLoaded(pos.x() >> 4, pos.z() >> 4)) continue; // fixed up on load
+                    if (!apply(w, pos, on)) stale.add(pos);
+                }
+            }
+        }
+        dropStale(stale);
+    }
+
+    /** Bring a freshly loaded chunk's start signs up to the current glow state. */
+    void onChunkLoad(Chunk c) {
+        if (glow == null) return;
+        var perWorld = startByChunk.get(c.getWorld().getName());
+        if (perWorld == null) return;
+        List<SignPos> inChunk = perWorld.get(SignPos.chunkKey(c.getX(), c.getZ()));
+        if (inChunk == null) return;
+
+        List<SignPos> stale = new ArrayList<>();
+        for (SignPos pos : inChunk) if (!apply(c.getWorld(), pos, glow)) stale.add(pos);
+        dropStale(stale);
+    }
+
+    // ===== internals =====
+
+    // Returns false if the block is no longer a sign (removed while we weren't watching).
+    private boolean apply(World w, SignPos pos, boolean on) {
+        if (!(w.getBlockAt(pos.x(), pos.y(), pos.z()).getState() instanceof Sign s)) return false;
+        SignSide front = s.getSide(Side.FRONT);
+        if (front.isGlowingText() != on) {
+            front.setGlowingText(on);
+            s.update(true, false);
+        }
+        return true;
+    }
+
+    private void dropStale(List<SignPos> stale) {
+        if (stale.isEmpty()) return;
+        for (SignPos pos : stale) {
+            actions.remove(pos);
+            unindexBlock(pos);
+            unindexStart(pos);
+        }
+        save();
+    }
+
+    private void unindexBlock(SignPos pos) {
+        LongHashMap<String> inWorld = byBlock.get(pos.world());
+        if (inWorld == null) return;
+        inWorld.remove(pos.key());
+        if (inWorld.isEmpty()) byBlock.remove(pos.world());
+    }
+
+    private void indexStart(SignPos pos) {
+        startByChunk.computeIfAbsent(pos.world(), k -> new HashMap<>())
+                .computeIfAbsent(pos.chunkKey(), k -> new ArrayList<>(2))
+                .add(pos);
+    }
+
+    private void unindexStart(SignPos pos) {
+        var perWorld = startByChunk.get(pos.world());
+        if (perWorld == null) return;
+        List<SignPos> inChunk = perWorld.get(pos.chunkKey());
+        if (inChunk == null) return;
+        inChunk.remove(pos);
+        if (inChunk.isEmpty()) perWorld.remove(pos.chunkKey());
+        if (perWorld.isEmpty()) startByChunk.remove(pos.world());
+    }
+
+    // ===== persistence =====
+
+    // On the I/O service: parse only, the indexes are main-thread state.
+    private Map<SignPos, String> read() {
+        YamlConfiguration cfg = YamlConfiguration.loadConfiguration(file);
+        Map<SignPos, String> read = new LinkedHashMap<>();
+        for (Map<?, ?> m : cfg.getMapList("signs")) {
+            try {
+                SignPos pos = new SignPos((String) m.get("world"),
+                        ((Number) m.get("x")).intValue(), ((Number) m.get("y")).intValue(), ((Number) m.get("z")).intValue());
+                String action = (String) m.get("action");
+                if (pos.world() == null || action == null) continue;
+                read.put(pos, action);
+            } catch (ClassCastException | NullPointerException ignored) {
+                // skip malformed entries
+            }
+        }
+        return read;
+    }
+
+    // On the main thread. Signs registered before the file was read win over their stored entry;
+    // if there were any, a save went out without the stored ones, so write the merged set again.
+    private void adopt(Map<SignPos, String> read) {
+        boolean changedBefore = !actions.isEmpty();
+        for (var e : read.entrySet()) {
+            SignPos pos = e.getKey();
+            String action = e.getValue();
+            if (actions.putIfAbsent(pos, action) != null) continue;
+            byBlock.computeIfAbsent(pos.world(), k -> new LongHashMap<>()).put(pos.key(), action);
+            if ("start".equals(action)) indexStart(pos);
+        }
+        if (changedBefore) save();
+        if (glow != null) { // glow was already applied without these; apply it to all again
+            boolean on = glow;
+            glow = null;
+            setGlow(on);
+        }
+    }
+
+    // Snapshot here (a handful of signs), write on the I/O service.
+    private void save() {
+        YamlConfiguration cfg = new YamlConfiguration();
+        List<Map<String, Object>> out = new ArrayList<>(actions.size());
+        for (var e : actions.entrySet()) {
+            SignPos p = e.getKey();
+            Map<String, Object> m = new LinkedHashMap<>();
+            m.put("world", p.world());
+            m.put("x", p.x());
+            m.put("y", p.y());
+            m.put("z", p.z());
+            m.put("action", e.getValue());
+            out.add(m);
+        }
+        cfg.set("signs", out);
+        io.submit(file, () -> {
+            try {
+                File dir = file.getParentFile();
+                if (!dir.exists()) dir.mkdirs();
+                cfg.save(file);
+            } catch (IOException ex) {
+                plugin.getLogger().severe("[SignRegistry] Failed to save " + file.getName() + ": " + ex.getMessage());
+            }
+            return null;
+        });
+    }
+}
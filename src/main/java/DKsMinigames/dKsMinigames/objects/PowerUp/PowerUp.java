@@ -1,19 +1,17 @@
 package DKsMinigames.dKsMinigames.objects.PowerUp;
 
+import DKsMinigames.dKsMinigames.utils.TimingWheel;
 import org.bukkit.*;
 import org.bukkit.entity.ArmorStand;
 import org.bukkit.entity.Entity;
 import org.bukkit.entity.Player;
 import org.bukkit.inventory.ItemStack;
-import org.bukkit.plugin.Plugin;
-import org.bukkit.scheduler.BukkitTask;
 import org.bukkit.util.EulerAngle;
 
 import java.util.function.Consumer;
 import java.util.function.Predicate;
 
 public class PowerUp {
-    private final Plugin plugin;
     private final Consumer<Player> onCollect;
     private final Predicate<Player> canCollect;
     private final ArmorStand stand;
@@ -21,15 +19,14 @@ public class PowerUp {
     private final long lifetime; // ms
     private final long spawnTime = System.currentTimeMillis();
 
-    private BukkitTask task;
+    private TimingWheel.Timer task;
     private int t = 0;
     private float yaw = 0f;
 
-    public PowerUp(Plugin plugin, Location spawnLoc,
+    public PowerUp(TimingWheel timers, Location spawnLoc,
                    Consumer<Player> action,
                    Predicate<Player> canCollect,
                    long lifetimeTicks) {
-        this.plugin = plugin;
         this.onCollect = action;
         this.canCollect = canCollect;
         this.base = spawnLoc.clone();
@@ -46,7 +43,7 @@ public class PowerUp {
             as.getEquipment().setHelmet(new ItemStack(Material.CHEST));
         });
 
-        this.task = Bukkit.getScheduler().runTaskTimer(plugin, this::tick, 1L, 1L);
+        this.task = timers.every(1L, 1L, this::tick);
     }
 
     private void tick() {
@@ -1,23 +1,62 @@
 package DKsMinigames.dKsMinigames.stats;
 
+import DKsMinigames.dKsMinigames.utils.ConfigHelper;
+import DKsMinigames.dKsMinigames.utils.IoService;
 import org.bukkit.OfflinePlayer;
+import org.bukkit.configuration.file.YamlConfiguration;
 import org.bukkit.entity.Player;
 import org.bukkit.plugin.Plugin;
-import org.bukkit.configuration.file.YamlConfiguration;
 
 import java.io.File;
 import java.io.IOException;
+import java.time.DayOfWeek;
+import java.time.LocalDate;
 import java.util.*;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Level;
 
+/**
+ * Per-game high scores, held in memory and written behind to a {@link ScoreBackend} chosen by
+ * {@code highscores.format}: {@code yaml} (snapshot + event journal), {@code binary}
+ * (memory-mapped records) or {@code sqlite} (embedded database). Changes are batched into
+ * {@link ScoreEvent}s and handed over on the I/O service. Starting on a non-YAML format with an
+ * empty store moves any existing YAML data in once; {@link #exportTo} copies between formats.
+ * <p>
+ * Alongside the all-time totals, each {@link Window} keeps the best score per player for the
+ * current day, week and season ({@code <game>.windows.yml}); a board starts over, in O(1), the
+ * first time it is touched in a new period, so nothing runs at midnight.
+ */
 public final class HighScoreStore {
 
+    /** Formats accepted by {@code highscores.format} and {@link #exportTo}. */
+    public static final List<String> FORMATS = List.of("yaml", "binary", "sqlite");
+
     public static final class TopScore {
         public final String playerName;
         public final int score;
         private TopScore(String playerName, int score) { this.playerName = playerName; this.score = score; }
     }
 
+    /** Leaderboard periods besides all-time. */
+    public enum Window {
+        DAY, WEEK, SEASON;
+
+        /** {@code day}/{@code today}, {@code week} or {@code season}; null for anything else. */
+        public static Window parse(String s) {
+            return switch (s.toLowerCase(Locale.ROOT)) {
+                case "day", "today" -> DAY;
+                case "week" -> WEEK;
+                case "season" -> SEASON;
+                default -> null;
+            };
+        }
+    }
+
+    /** One stored player, as moved in bulk between stores. */
+    public record Row(UUID id, String name, int highScore, int gamesPlayed) {}
+
     private static final class Entry {
         String lastName;
         int highScore;
@@ -25,17 +64,103 @@ public final class HighScoreStore {
     }
 
     private final Plugin plugin;
+    private final IoService io;
     private final String gameName;
-    private final File file;
+    private final File file;        // <game>.yml; the other formats sit beside it
+    private final String format;
     private final Map<UUID, Entry> data = new ConcurrentHashMap<>();
+    private final Map<String, UUID> byName = new HashMap<>(); // lower-cased last name -> player (guarded by this)
+    private final RankIndex ranks = new RankIndex();          // guarded by this
+    private final Map<Window, WindowBoard> windows = new EnumMap<>(Window.class); // guarded by this
+    private final LocalDate seasonStart;
+    private final int seasonDays;
+    private final File windowsFile;
+    private boolean windowsDirty = false;                     // guarded by this
+    private final CompletableFuture<Void> loaded;
+    private ScoreBackend backend;   // opened by load(); touched only on this store's I/O queue
+
+    // Write-behind: events not yet persisted, handed over in one batch (guarded by this)
+    private static final long FLUSH_DELAY_SECONDS = 30;
+    private List<ScoreEvent> pending = new ArrayList<>();
+    private boolean flushScheduled = false;
+    private boolean writeQueued = false;   // a queued write that has not yet taken its batch
+    private CompletableFuture<Void> lastSave = CompletableFuture.completedFuture(null);
+
+    public HighScoreStore(Plugin plugin, IoService io, String gameName) {
+        this(plugin, io, gameName, new File(new File(plugin.getDataFolder(), "highscores"), gameName.toLowerCase(Locale.ROOT) + ".yml"),
+                new ConfigHelper(plugin).getHighScoreFormat().toLowerCase(Locale.ROOT));
+    }
+
+    /**
+     * YAML store backed by an explicit file (scratch stores for benchmarks, migrations).
+     * The file is read in the background; see {@link #ready()}.
+     */
+    public HighScoreStore(Plugin plugin, IoService io, String gameName, File file) {
+        this(plugin, io, gameName, file, "yaml");
+    }
 
-    public HighScoreStore(Plugin plugin, String gameName) {
+    private HighScoreStore(Plugin plugin, IoService io, String gameName, File file, String format) {
         this.plugin = Objects.requireNonNull(plugin, "plugin");
+        this.io = Objects.requireNonNull(io, "io");
         this.gameName = Objects.requireNonNull(gameName, "gameName");
-        File dir = new File(plugin.getDataFolder(), "highscores");
-        if (!dir.exists()) dir.mkdirs();
-        this.file = new File(dir, gameName.toLowerCase(Locale.ROOT) + ".yml");
-        load();
+        this.file = file;
+        this.format = format;
+        ConfigHelper cfg = new ConfigHelper(plugin);
+        this.seasonStart = cfg.getSeasonStart();
+        this.seasonDays = cfg.getSeasonDays();
+        this.windowsFile = new File(file.getParentFile(), baseName() + ".windows.yml");
+        LocalDate today = LocalDate.now();
+        for (Window w : Window.values()) windows.put(w, new WindowBoard(bucket(w, today)));
+        this.loaded = io.submit(file, this::load);
+    }
+
+    /** Completes once the stored scores have been read (scores recorded before then are merged in). */
+    public CompletableFuture<Void> ready() { return loaded; }
+
+    /**
+     * Write pending changes now instead of waiting for the debounce (end of a match, disable).
+     * Completes once they are on disk.
+     */
+    public synchronized CompletableFuture<Void> flush() {
+        if (!writeQueued) {
+            writeQueued = true;
+            lastSave = io.submit(file, this::write);
+        }
+        return lastSave;
+    }
+
+    /** Flush, then close the backend (disable). */
+    public synchronized CompletableFuture<Void> close() {
+        flush();
+        return io.submit(file, () -> {
+            if (backend != null) backend.close();
+            return null;
+        });
+    }
+
+    /**
+     * Copy every player, as of now, into {@code toFormat} beside this store's own files, replacing
+     * what that format held. Switch {@code highscores.format} afterwards to run on the copy.
+     * Completes with the number of players copied.
+     */
+    public CompletableFuture<Integer> exportTo(String toFormat) {
+        String target = toFormat.toLowerCase(Locale.ROOT);
+        if (!FORMATS.contains(target)) return CompletableFuture.failedFuture(new IllegalArgumentException("Unknown format: " + toFormat));
+        if (target.equals(format)) return CompletableFuture.failedFuture(new IllegalArgumentException("Already stored as " + format));
+        List<Row> rows;
+        synchronized (this) {
+            flush();
+            rows = snapshotRows();
+        }
+        return io.submit(file, () -> {
+            List<ScoreEvent> batch = new ArrayList<>(rows.size() + 1);
+            batch.add(ScoreEvent.wipe());
+            for (Row r : rows) batch.add(ScoreEvent.set(r));
+            try (ScoreBackend dest = open(target)) {
+                dest.write(batch, rows);
+            }
+            return rows.size();
+        });
     }
 
     /** Record a completed game for p; increments games played and updates high score only if beaten. */
@@ -44,12 +169,17 @@ public final class HighScoreStore {
     /** Same as above for OfflinePlayer. */
     public synchronized void recordScore(OfflinePlayer p, int score) { recordScore(p.getUniqueId(), p.getName(), score); }
 
-    private void recordScore(UUID id, String name, int score) {
+    /** Same as above by UUID and last known name. */
+    public synchronized void recordScore(UUID id, String name, int score) {
         Entry e = data.computeIfAbsent(id, k -> new Entry());
         e.gamesPlayed += 1;
-        e.lastName = name != null ? name : e.lastName;
+        if (name != null && !name.equals(e.lastName)) rename(id, e, name);
         if (score > e.highScore) e.highScore = score;
-        save();
+        rank(id, e);
+        String shown = e.lastName != null ? e.lastName : id.toString();
+        for (Window w : Window.values()) board(w).record(id, shown, score);
+        windowsDirty = true;
+        log(ScoreEvent.score(id, name, score));
     }
 
     /** 1) Highest score for a player by current/last known name; returns 0 if not found. */
@@ -60,17 +190,7 @@ public final class HighScoreStore {
 
     /** 2) Highest score overall (name + score); returns Optional.empty() if no data. */
     public synchronized Optional<TopScore> getTopScore() {
-        UUID bestId = null;
-        int best = Integer.MIN_VALUE;
-        for (var it : data.entrySet()) {
-            if (it.getValue().highScore > best) {
-                best = it.getValue().highScore;
-                bestId = it.getKey();
-            }
-        }
-        if (bestId == null) return Optional.empty();
-        Entry e = data.get(bestId);
-        return Optional.of(new TopScore(e.lastName != null ? e.lastName : bestId.toString(), e.highScore));
+        return getByRank(1);
     }
 
     /** 3) Number of games a player (by name) has played; returns 0 if not found. */
@@ -86,89 +206,314 @@ public final class HighScoreStore {
     /** Optional: reset a single player or all. */
     public synchronized void resetPlayer(String playerName) {
         UUID target = findUuidByName(playerName);
-        if (target != null) { data.remove(target); save(); }
+        if (target != null) {
+            unindex(target, data.remove(target));
+            ranks.remove(target);
+            for (WindowBoard b : windows.values()) b.remove(target);
+            windowsDirty = true;
+            log(ScoreEvent.reset(target));
+        }
+    }
+    public synchronized void resetAll() {
+        data.clear();
+        byName.clear();
+        ranks.clear();
+        for (WindowBoard b : windows.values()) b.clear();
+        windowsDirty = true;
+        log(ScoreEvent.wipe());
     }
-    public synchronized void resetAll() { data.clear(); save(); }
 
-    // ===== persistence =====
+    /** Replace or add many players at once, written in one batch. */
+    public synchronized void importAll(Collection<Row> rows) {
+        for (Row r : rows) {
+            Entry e = new Entry();
+            e.highScore = r.highScore();
+            e.gamesPlayed = r.gamesPlayed();
+            unindex(r.id(), data.put(r.id(), e));
+            if (r.name() != null) rename(r.id(), e, r.name());
+            rank(r.id(), e);
+            pending.add(ScoreEvent.set(r));
+        }
+        scheduleFlush();
+    }
 
-    private void load() {
-        data.clear();
-        YamlConfiguration cfg = YamlConfiguration.loadConfiguration(file);
-        if (!cfg.contains("players")) return;
+    public synchronized int size() { return data.size(); }
 
-        for (String key : Objects.requireNonNull(cfg.getConfigurationSection("players")).getKeys(false)) {
-            try {
-                UUID id = UUID.fromString(key);
-                Entry e = new Entry();
-                e.lastName = cfg.getString("players." + key + ".name", null);
-                e.highScore = cfg.getInt("players." + key + ".high", 0);
-                e.gamesPlayed = cfg.getInt("players." + key + ".games", 0);
-                data.put(id, e);
-            } catch (IllegalArgumentException ignored) {
-                // skip invalid UUID keys
+    // ===== persistence (runs on the I/O service, ordered per file) =====
+
+    private Void load() {
+        Map<UUID, Row> read = new HashMap<>();
+        backend = openConfigured(read);
+        YamlConfiguration saved = YamlConfiguration.loadConfiguration(windowsFile);
+
+        synchronized (this) {
+            // anything recorded while we were reading is newer; fold the stored totals into it
+            read.forEach((id, r) -> {
+                Entry cur = data.get(id);
+                if (cur == null) {
+                    cur = new Entry();
+                    cur.lastName = r.name();
+                    data.put(id, cur);
+                } else if (cur.lastName == null) {
+                    cur.lastName = r.name();
+                }
+                cur.gamesPlayed += r.gamesPlayed();
+                cur.highScore = Math.max(cur.highScore, r.highScore());
+            });
+            byName.clear();
+            ranks.clear();
+            data.forEach((id, e) -> {
+                if (e.lastName != null) byName.put(key(e.lastName), id);
+                rank(id, e);
+            });
+            loadWindows(saved);
+        }
+        return null;
+    }
+
+    // Caller holds the lock. Only boards still in their saved period come back; the rest start empty.
+    private void loadWindows(YamlConfiguration saved) {
+        for (Window w : Window.values()) {
+            String base = w.name().toLowerCase(Locale.ROOT);
+            WindowBoard b = board(w);
+            var players = saved.getConfigurationSection(base + ".players");
+            if (players == null || saved.getLong(base + ".bucket", Long.MIN_VALUE) != b.bucket()) continue;
+            for (String key : players.getKeys(false)) {
+                try {
+                    UUID id = UUID.fromString(key);
+                    b.record(id, saved.getString(base + ".players." + key + ".name", key),
+                            saved.getInt(base + ".players." + key + ".score", 0));
+                } catch (IllegalArgumentException ignored) {
+                    // skip invalid UUID keys
+                }
             }
         }
     }
 
-    private void save() {
-        YamlConfiguration cfg = new YamlConfiguration();
-        for (var it : data.entrySet()) {
-            String base = "players." + it.getKey();
-            Entry e = it.getValue();
-            if (e.lastName != null) cfg.set(base + ".name", e.lastName);
-            cfg.set(base + ".high", e.highScore);
-            cfg.set(base + ".games", e.gamesPlayed);
+    // The configured backend, loaded into read. An empty non-YAML store first takes over any YAML
+    // data (then set aside as *.migrated); a backend that cannot be opened leaves the store on YAML.
+    private ScoreBackend openConfigured(Map<UUID, Row> read) {
+        YamlBackend yaml = new YamlBackend(gameName, file);
+        ScoreBackend b = yaml;
+        if (!format.equals("yaml")) {
+            try {
+                b = open(format);
+            } catch (IOException | RuntimeException ex) {
+                plugin.getLogger().severe("[HighScoreStore] Cannot use " + format + " storage for " + gameName + ", using YAML: " + ex.getMessage());
+            }
         }
-        cfg.set("meta.game", gameName);
         try {
-            cfg.save(file);
+            b.load(r -> read.put(r.id(), r));
+            if (b != yaml && read.isEmpty() && yaml.exists()) {
+                yaml.load(r -> read.put(r.id(), r));
+                List<ScoreEvent> batch = new ArrayList<>(read.size());
+                for (Row r : read.values()) batch.add(ScoreEvent.set(r));
+                b.write(batch, List.copyOf(read.values()));
+                yaml.retire();
+                plugin.getLogger().info("[HighScoreStore] Migrated " + read.size() + " " + gameName + " player(s) from YAML to " + format);
+            }
         } catch (IOException ex) {
-            plugin.getLogger().severe("[HighScoreStore] Failed to save " + file.getName() + ": " + ex.getMessage());
+            plugin.getLogger().severe("[HighScoreStore] Failed to load " + gameName + " scores: " + ex.getMessage());
         }
+        return b;
     }
 
-    // ===== helpers =====
+    private ScoreBackend open(String kind) throws IOException {
+        File dir = file.getParentFile();
+        String base = baseName();
+        return switch (kind) {
+            case "yaml" -> new YamlBackend(gameName, file);
+            case "binary" -> ScoreFile.open(new File(dir, base + ".bin").toPath());
+            case "sqlite" -> SqliteBackend.open(new File(dir, base + ".db"));
+            default -> throw new IllegalArgumentException("Unknown highscores.format: " + kind);
+        };
+    }
 
-    private Entry findByName(String name) {
-        if (name == null) return null;
-        String needle = name.trim();
-        for (Entry e : data.values()) {
-            if (e.lastName != null && e.lastName.equalsIgnoreCase(needle)) return e;
+    // Caller holds the lock.
+    private void log(ScoreEvent e) {
+        pending.add(e);
+        scheduleFlush();
+    }
+
+    // Caller holds the lock. Coalesces everything recorded in the next FLUSH_DELAY_SECONDS into one write.
+    private void scheduleFlush() {
+        if (flushScheduled) return;
+        flushScheduled = true;
+        CompletableFuture.runAsync(() -> {
+            synchronized (this) {
+                flushScheduled = false;
+                flush();
+            }
+        }, CompletableFuture.delayedExecutor(FLUSH_DELAY_SECONDS, TimeUnit.SECONDS));
+    }
+
+    private Void write() {
+        List<ScoreEvent> batch;
+        Map<Window, SavedBoard> boards = null;
+        synchronized (this) {
+            writeQueued = false;
+            if (pending.isEmpty()) return null; // an earlier write already took it
+            batch = pending;
+            pending = new ArrayList<>();
+            if (windowsDirty) {
+                boards = copyWindows();
+                windowsDirty = false;
+            }
+        }
+        // everything below runs without the lock: the backend compacts from its own files, and the
+        // boards were copied above
+        try {
+            backend.write(batch, null);
+        } catch (IOException | RuntimeException ex) { // a backend bug must not lose the batch either
+            plugin.getLogger().log(Level.SEVERE, "[HighScoreStore] Failed to save " + gameName + " scores", ex);
+            synchronized (this) { // retry the batch with the next debounce
+                pending.addAll(0, batch);
+                scheduleFlush();
+            }
+        }
+        if (boards != null) {
+            try {
+                YamlBackend.writeAtomically(windowsFile, windowsDocument(boards));
+            } catch (IOException | RuntimeException ex) {
+                plugin.getLogger().log(Level.SEVERE, "[HighScoreStore] Failed to save " + windowsFile.getName(), ex);
+                synchronized (this) { windowsDirty = true; }
+            }
         }
         return null;
     }
 
-    private UUID findUuidByName(String name) {
-        if (name == null) return null;
-        String needle = name.trim();
-        for (var it : data.entrySet()) {
-            Entry e = it.getValue();
-            if (e.lastName != null && e.lastName.equalsIgnoreCase(needle)) return it.getKey();
+    // A window board as copied for saving.
+    private record SavedBoard(long bucket, List<Row> rows) {}
+
+    // Caller holds the lock. Only the rows are copied here; the document is built from the copy
+    // after the lock is released, since a season's board can hold most of the store's players.
+    private Map<Window, SavedBoard> copyWindows() {
+        Map<Window, SavedBoard> out = new EnumMap<>(Window.class);
+        windows.forEach((w, b) -> out.put(w, new SavedBoard(b.bucket(), b.rows())));
+        return out;
+    }
+
+    private static String windowsDocument(Map<Window, SavedBoard> boards) {
+        YamlConfiguration cfg = new YamlConfiguration();
+        for (Window w : Window.values()) {
+            String base = w.name().toLowerCase(Locale.ROOT);
+            SavedBoard b = boards.get(w);
+            cfg.set(base + ".bucket", b.bucket());
+            for (Row r : b.rows()) {
+                cfg.set(base + ".players." + r.id() + ".name", r.name());
+                cfg.set(base + ".players." + r.id() + ".score", r.highScore());
+            }
         }
-        return null;
+        return cfg.saveToString();
+    }
+
+    // Caller holds the lock.
+    private List<Row> snapshotRows() {
+        List<Row> rows = new ArrayList<>(data.size());
+        data.forEach((id, e) -> rows.add(new Row(id, e.lastName, e.highScore, e.gamesPlayed)));
+        return rows;
+    }
+
+    // ===== helpers =====
+
+    private Entry findByName(String name) {
+        UUID id = findUuidByName(name);
+        return id != null ? data.get(id) : null;
+    }
+
+    private UUID findUuidByName(String name) {
+        return name != null ? byName.get(key(name.trim())) : null;
     }
 
+    // Caller holds the lock. A name now used by someone else moves to them; the old holder keeps it as lastName only.
+    private void rename(UUID id, Entry e, String name) {
+        if (e.lastName != null) byName.remove(key(e.lastName), id);
+        e.lastName = name;
+        byName.put(key(name), id);
+    }
 
+    // Caller holds the lock.
+    private void unindex(UUID id, Entry e) {
+        if (e != null && e.lastName != null) byName.remove(key(e.lastName), id);
+    }
+
+    private static String key(String name) { return name.toLowerCase(Locale.ROOT); }
+
+    private String baseName() {
+        String n = file.getName();
+        return n.endsWith(".yml") ? n.substring(0, n.length() - 4) : n;
+    }
+
+    // Caller holds the lock. The window's board, rolled over first if its period has ended.
+    private WindowBoard board(Window w) {
+        WindowBoard b = windows.get(w);
+        b.roll(bucket(w, LocalDate.now()));
+        return b;
+    }
+
+    // Period number of the window on a date: epoch day, Monday of the week, or season index.
+    private long bucket(Window w, LocalDate date) {
+        return switch (w) {
+            case DAY -> date.toEpochDay();
+            case WEEK -> date.with(DayOfWeek.MONDAY).toEpochDay();
+            case SEASON -> Math.floorDiv(date.toEpochDay() - seasonStart.toEpochDay(), seasonDays);
+        };
+    }
+
+    // Caller holds the lock.
+    private void rank(UUID id, Entry e) {
+        ranks.put(id, e.lastName != null ? e.lastName : id.toString(), e.highScore);
+    }
+
+    /** Player at 1-based {@code rank} (score desc, then name); O(log n). */
     public synchronized Optional<TopScore> getByRank(int rank) {
-        if (rank <= 0) return Optional.empty();
-        List<TopScore> list = getSortedTop();
-        return rank <= list.size() ? Optional.of(list.get(rank - 1)) : Optional.empty();
+        RankIndex.Node n = ranks.at(rank);
+        return n != null ? Optional.of(new TopScore(n.name, n.score)) : Optional.empty();
     }
 
+    /** The best {@code limit} players, best first. */
     public synchronized List<TopScore> getTop(int limit) {
-        List<TopScore> list = getSortedTop();
-        return list.subList(0, Math.min(limit, list.size()));
-    }
-
-    private List<TopScore> getSortedTop() {
-        return data.entrySet().stream()
-                .map(e -> new TopScore(
-                        e.getValue().lastName != null ? e.getValue().lastName : e.getKey().toString(),
-                        e.getValue().highScore))
-                .sorted(Comparator
-                        .comparingInt((TopScore t) -> t.score).reversed()
-                        .thenComparing(t -> t.playerName, String.CASE_INSENSITIVE_ORDER))
-                .toList();
+        List<TopScore> out = new ArrayList<>();
+        for (RankIndex.Node n : ranks.top(limit)) out.add(new TopScore(n.name, n.score));
+        return out;
+    }
+
+    /** 1-based rank of a player among {@link #size()}, or 0 if they have no record; O(log n). */
+    public synchronized int getRank(UUID id) {
+        return ranks.rankOf(id);
+    }
+
+    // ===== windowed boards =====
+
+    /** Player at 1-based {@code rank} on the current period's board of {@code window}. */
+    public synchronized Optional<TopScore> getByRank(Window window, int rank) {
+        RankIndex.Node n = board(window).ranks().at(rank);
+        return n != null ? Optional.of(new TopScore(n.name, n.score)) : Optional.empty();
+    }
+
+    /** The best {@code limit} players of the current period, best first. */
+    public synchronized List<TopScore> getTop(Window window, int limit) {
+        List<TopScore> out = new ArrayList<>();
+        for (RankIndex.Node n : board(window).ranks().top(limit)) out.add(new TopScore(n.name, n.score));
+        return out;
+    }
+
+    /** 1-based rank of a player this period, or 0 if they have not played in it. */
+    public synchronized int getRank(Window window, UUID id) {
+        return board(window).ranks().rankOf(id);
+    }
+
+    /** Number of players on the current period's board. */
+    public synchronized int size(Window window) {
+        return board(window).ranks().size();
+    }
+
+    /** Display name of the current period: "Today", "This week" or "Season N". */
+    public synchronized String periodName(Window window) {
+        return switch (window) {
+            case DAY -> "Today";
+            case WEEK -> "This week";
+            case SEASON -> "Season " + (board(window).bucket() + 1);
+        };
     }
 }
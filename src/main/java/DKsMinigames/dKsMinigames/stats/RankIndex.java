@@ -0,0 +1,169 @@
+package DKsMinigames.dKsMinigames.stats;
+
+import java.util.*;
+
+/**
+ * Players ordered by high score (desc, then name, then UUID) in a treap where every node
+ * knows its subtree size, so rank-N, the top K and a player's own rank are all O(log n)
+ * (top K: O(log n + k)) without sorting. Not thread-safe; {@link HighScoreStore} guards it.
+ */
+final class RankIndex {
+    static final class Node {
+        final UUID id;
+        final String name;
+        final int score;
+        private final int prio;
+        private Node left, right;
+        private int size = 1;
+
+        private Node(UUID id, String name, int score, int prio) {
+            this.id = id; this.name = name; this.score = score; this.prio = prio;
+        }
+    }
+
+    private final Map<UUID, Node> byId = new HashMap<>();
+    private final SplittableRandom random = new SplittableRandom();
+    private Node root;
+
+    int size() { return byId.size(); }
+
+    /** The player's entry, or null. */
+    Node get(UUID id) { return byId.get(id); }
+
+    /** Insert or move a player; a no-op when neither score nor name changed. */
+    void put(UUID id, String name, int score) {
+        Node old = byId.get(id);
+        if (old != null) {
+            if (old.score == score && old.name.equals(name)) return;
+            root = remove(root, old);
+        }
+        Node n = new Node(id, name, score, random.nextInt());
+        byId.put(id, n);
+        root = insert(root, n);
+    }
+
+    void remove(UUID id) {
+        Node old = byId.remove(id);
+        if (old != null) root = remove(root, old);
+    }
+
+    void clear() {
+        byId.clear();
+        root = null;
+    }
+
+    /** The player at 1-based {@code rank}, or null. */
+    Node at(int rank) {
+        if (rank < 1 || rank > size()) return null;
+        Node t = root;
+        int k = rank - 1;
+        while (t != null) {
+            int l = size(t.left);
+            if (k < l) t = t.left;
+            else if (k == l) return t;
+            else { k -= l + 1; t = t.right; }
+        }
+        return null;
+    }
+
+    /** 1-based rank of {@code id}, or 0 if not ranked. */
+    int rankOf(UUID id) {
+        Node n = byId.get(id);
+        if (n == null) return 0;
+        int before = 0;
+        for (Node t = root; t != null; ) {
+            int c = compare(n, t);
+            if (c < 0) t = t.left;
+            else {
+                before += size(t.left);
+                if (c == 0) break;
+                before += 1;
+                t = t.right;
+            }
+        }
+        return before + 1;
+    }
+
+    /** The best {@code k} players, best first. */
+    List<Node> top(int k) {
+        List<Node> out = new ArrayList<>(Math.max(0, Math.min(k, size())));
+        Deque<Node> stack = new ArrayDeque<>();
+        Node t = root;
+        while (out.size() < k && (t != null || !stack.isEmpty())) {
+            while (t != null) { stack.push(t); t = t.left; }
+            t = stack.pop();
+            out.add(t);
+            t = t.right;
+        }
+        return out;
+    }
+
+    // ===== internals =====
+
+    private static int compare(Node a, Node b) {
+        if (a == b) return 0;
+        int c = Integer.compare(b.score, a.score);
+        if (c != 0) return c;
+        c = String.CASE_INSENSITIVE_ORDER.compare(a.name, b.name);
+        return c != 0 ? c : a.id.compareTo(b.id);
+    }
+
+    private static int size(Node t) { return t == null ? 0 : t.size; }
+
+    private static void update(Node t) { t.size = 1 + size(t.left) + size(t.right); }
+
+    private static Node insert(Node t, Node n) {
+        if (t == null) return n;
+        if (compare(n, t) < 0) {
+            t.left = insert(t.left, n);
+            if (t.left.prio > t.prio) t = rotateRight(t);
+        } else {
+            t.right = insert(t.right, n);
+            if (t.right.prio > t.prio) t = rotateLeft(t);
+        }
+        update(t);
+        return t;
+    }
+
+    private static Node remove(Node t, Node n) {
+        if (t == null) return null;
+        int c = compare(n, t);
+        if (c == 0) return merge(t.left, t.right);
+        if (c < 0) t.left = remove(t.left, n);
+        else t.right = remove(t.right, n);
+        update(t);
+        return t;
+    }
+
+    // Every key in a sorts before every key in b.
+    private static Node merge(Node a, Node b) {
+        if (a == null) return b;
+        if (b == null) return a;
+        if (a.prio > b.prio) {
+            a.right = merge(a.right, b);
+            update(a);
+            return a;
+        }
+        b.left = merge(a, b.left);
+        update(b);
+        return b;
+    }
+
+    private static Node rotateRight(Node t) {
+        Node l = t.left;
+        t.left = l.right;
+        l.right = t;
+        update(t);
+        update(l);
+        return l;
+    }
+
+    private static Node rotateLeft(Node t) {
+        Node r = t.right;
+        t.right = r.left;
+        r.left = t;
+        update(t);
+        update(r);
+        return r;
+    }
+}
@@ -0,0 +1,27 @@
+package DKsMinigames.dKsMinigames.stats;
+
+import DKsMinigames.dKsMinigames.stats.HighScoreStore.Row;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * Where a {@link HighScoreStore} keeps its players, chosen by {@code highscores.format}.
+ * The store holds every player in memory and answers all queries itself; a backend only has
+ * to read them back at startup and persist batches of {@link ScoreEvent}s. Every call comes
+ * from the store's I/O queue, one at a time.
+ */
+interface ScoreBackend extends Closeable {
+
+    /** Hand every stored player to {@code sink}. */
+    void load(Consumer<Row> sink) throws IOException;
+
+    /**
+     * Persist {@code batch} in order: all of it, or, when this throws, none of it (the store retries).
+     * A non-null {@code snapshot} (exports, migrations) is every player with the batch already
+     * applied; a backend may write that instead of the batch. The store's own saves pass null.
+     */
+    void write(List<ScoreEvent> batch, List<Row> snapshot) throws IOException;
+}
@@ -0,0 +1,37 @@
+package DKsMinigames.dKsMinigames.stats;
+
+import DKsMinigames.dKsMinigames.stats.HighScoreStore.Row;
+
+import java.util.Map;
+import java.util.UUID;
+
+/** One change to a {@link HighScoreStore}, as handed to its {@link ScoreBackend} in recording order. */
+record ScoreEvent(Op op, UUID id, String name, int highScore, int gamesPlayed) {
+
+    enum Op {
+        /** A completed game scoring {@code highScore}: games +1, high score raised if beaten, name updated if given. */
+        SCORE,
+        /** Totals replaced outright (imports, exports). */
+        SET,
+        /** One player removed. */
+        RESET,
+        /** Every player removed. */
+        WIPE
+    }
+
+    static ScoreEvent score(UUID id, String name, int score) { return new ScoreEvent(Op.SCORE, id, name, score, 1); }
+    static ScoreEvent set(Row r) { return new ScoreEvent(Op.SET, r.id(), r.name(), r.highScore(), r.gamesPlayed()); }
+    static ScoreEvent reset(UUID id) { return new ScoreEvent(Op.RESET, id, null, 0, 0); }
+    static ScoreEvent wipe() { return new ScoreEvent(Op.WIPE, null, null, 0, 0); }
+
+    /** Apply to plain rows (replaying a journal on top of its snapshot). */
+    void applyTo(Map<UUID, Row> rows) {
+        switch (op) {
+            case SCORE -> rows.merge(id, new Row(id, name, highScore, 1), (old, now) -> new Row(id,
+                    name != null ? name : old.name(), Math.max(old.highScore(), highScore), old.gamesPlayed() + 1));
+            case SET -> rows.put(id, new Row(id, name, highScore, gamesPlayed));
+            case RESET -> rows.remove(id);
+            case WIPE -> rows.clear();
+        }
+    }
+}
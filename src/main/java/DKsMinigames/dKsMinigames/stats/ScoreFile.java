@@ -0,0 +1,438 @@
+package DKsMinigames.dKsMinigames.stats;
+
+import DKsMinigames.dKsMinigames.stats.HighScoreStore.Row;
+
+import java.io.*;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.*;
+import java.util.function.Consumer;
+import java.util.zip.CRC32;
+
+import static java.nio.file.StandardOpenOption.*;
+
+/**
+ * High scores as fixed-size records in a memory-mapped file that is itself an open-addressing
+ * hash table keyed by UUID, so an update touches one probe run of records and writes it in place,
+ * and startup reads fixed records instead of parsing text.
+ * <p>
+ * A batch is first written, with its final value per touched player, to a checksummed redo log
+ * ({@code <file>.wal}) and synced; only then are the records changed, forced, and the log deleted.
+ * A crash part way through the records leaves a complete log, which {@link #open} re-applies
+ * (the values are final states, so applying twice is harmless); a torn log means the records
+ * were never touched and is discarded. The header's count is recomputed from the records on
+ * open, so it cannot drift from them across a crash.
+ * <p>
+ * Layout: a {@value #HEADER}-byte header (magic, version, capacity, count) followed by
+ * {@code capacity} records of {@value #RECORD} bytes: UUID msb/lsb, high score, games played,
+ * name length and up to {@value #NAME_MAX} bytes of UTF-8 name. A zero UUID marks a free record.
+ * Not thread-safe; {@link HighScoreStore} uses it only from its I/O queue.
+ */
+final class ScoreFile implements ScoreBackend {
+    private static final int MAGIC = 0x444B4853; // "DKHS"
+    private static final int WAL_MAGIC = 0x444B4857; // "DKHW"
+    private static final int VERSION = 1;
+    private static final int HEADER = 16;
+    private static final int RECORD = 48;
+    private static final int NAME_MAX = 16;      // Minecraft names are at most 16 ASCII characters
+    private static final int MIN_CAPACITY = 1024;
+    private static final float LOAD = 0.6f;
+
+    // record field offsets
+    private static final int MSB = 0, LSB = 8, HIGH = 16, GAMES = 20, NAME_LEN = 24, NAME = 25;
+
+    /** Receives every stored player from {@link #forEach}. */
+    @FunctionalInterface
+    interface Visitor { void accept(UUID id, String name, int highScore, int gamesPlayed); }
+
+    private final Path path;
+    private final Path wal;
+    private FileChannel channel;
+    private MappedByteBuffer buf;
+    private int capacity;
+    private int mask;
+    private int count;
+
+    private ScoreFile(Path path, FileChannel channel, MappedByteBuffer buf, int capacity, int count) {
+        this.path = path;
+        this.wal = path.resolveSibling(path.getFileName() + ".wal");
+        this.channel = channel;
+        this.buf = buf;
+        this.capacity = capacity;
+        this.mask = capacity - 1;
+        this.count = count;
+    }
+
+    /** Open {@code path}, creating an empty table if it does not exist yet. */
+    static ScoreFile open(Path path) throws IOException {
+        if (!Files.exists(path)) return create(path, MIN_CAPACITY);
+        FileChannel ch = FileChannel.open(path, READ, WRITE);
+        try {
+            long size = ch.size();
+            if (size < HEADER) throw new IOException(path.getFileName() + " is truncated");
+            MappedByteBuffer b = ch.map(FileChannel.MapMode.READ_WRITE, 0, size);
+            int cap = b.getInt(8);
+            if (b.getInt(0) != MAGIC || b.getInt(4) != VERSION) throw new IOException(path.getFileName() + " is not a score file");
+            if (Integer.bitCount(cap) != 1 || size != HEADER + (long) cap * RECORD) {
+                throw new IOException(path.getFileName() + " has a bad capacity (" + cap + ")");
+            }
+            ScoreFile f = new ScoreFile(path, ch, b, cap, 0);
+            f.recount();
+            f.recover();
+            return f;
+        } catch (IOException | RuntimeException e) {
+            ch.close();
+            throw e;
+        }
+    }
+
+    private static ScoreFile create(Path path, int capacity) throws IOException {
+        Path dir = path.toAbsolutePath().getParent();
+        if (dir != null) Files.createDirectories(dir);
+        FileChannel ch = FileChannel.open(path, CREATE, READ, WRITE);
+        try {
+            ch.truncate(0);
+            // mapping past the end grows the file; the new region reads as zeros, i.e. all records free
+            MappedByteBuffer b = ch.map(FileChannel.MapMode.READ_WRITE, 0, HEADER + (long) capacity * RECORD);
+            b.putInt(0, MAGIC);
+            b.putInt(4, VERSION);
+            b.putInt(8, capacity);
+            b.putInt(12, 0);
+            return new ScoreFile(path, ch, b, capacity, 0);
+        } catch (IOException | RuntimeException e) {
+            ch.close();
+            throw e;
+        }
+    }
+
+    int size() { return count; }
+
+    @Override
+    public void load(Consumer<Row> sink) {
+        forEach((id, name, high, games) -> sink.accept(new Row(id, name, high, games)));
+    }
+
+    /**
+     * Folds the batch into final values per player, logs those, then applies them. Growing happens
+     * before the log is written, so once the records are being changed nothing is left to fail.
+     */
+    @Override
+    public void write(List<ScoreEvent> batch, List<Row> snapshot) throws IOException {
+        boolean wipe = false;
+        Map<UUID, Row> after = new LinkedHashMap<>(); // null value: removed
+        for (ScoreEvent e : batch) {
+            switch (e.op()) {
+                case SCORE -> {
+                    Row cur = after.containsKey(e.id()) ? after.get(e.id()) : (wipe ? null : get(e.id()));
+                    after.put(e.id(), cur == null
+                            ? new Row(e.id(), e.name(), e.highScore(), 1)
+                            : new Row(e.id(), e.name() != null ? e.name() : cur.name(),
+                                      Math.max(cur.highScore(), e.highScore()), cur.gamesPlayed() + 1));
+                }
+                case SET -> after.put(e.id(), new Row(e.id(), e.name(), e.highScore(), e.gamesPlayed()));
+                case RESET -> after.put(e.id(), null);
+                case WIPE -> { wipe = true; after.clear(); }
+            }
+        }
+        reserve(after.size());
+        writeLog(wipe, after);
+        apply(wipe, after);
+        force();
+        Files.deleteIfExists(wal);
+    }
+
+    /** The stored player, or null. */
+    Row get(UUID id) {
+        int slot = find(id);
+        if (slot < 0) return null;
+        int at = offset(slot);
+        return new Row(id, getName(at), buf.getInt(at + HIGH), buf.getInt(at + GAMES));
+    }
+
+    /** A completed game: games played +1, high score raised if beaten, name updated when given. */
+    void record(UUID id, String name, int score) throws IOException {
+        int slot = find(id);
+        if (slot < 0) {
+            insert(-slot - 1, id, name, score, 1);
+            return;
+        }
+        int at = offset(slot);
+        buf.putInt(at + GAMES, buf.getInt(at + GAMES) + 1);
+        if (score > buf.getInt(at + HIGH)) buf.putInt(at + HIGH, score);
+        if (name != null) putName(at, name);
+    }
+
+    /** Replace (or add) a player's totals. */
+    void put(UUID id, String name, int highScore, int gamesPlayed) throws IOException {
+        int slot = find(id);
+        if (slot < 0) {
+            insert(-slot - 1, id, name, highScore, gamesPlayed);
+            return;
+        }
+        int at = offset(slot);
+        buf.putInt(at + HIGH, highScore);
+        buf.putInt(at + GAMES, gamesPlayed);
+        putName(at, name);
+    }
+
+    void remove(UUID id) {
+        int slot = find(id);
+        if (slot < 0) return;
+        setCount(count - 1);
+
+        // Shift later members of the probe run back so lookups never hit a premature gap.
+        int gap = slot;
+        for (int j = (gap + 1) & mask; !free(j); j = (j + 1) & mask) {
+            int home = home(buf.getLong(offset(j) + MSB), buf.getLong(offset(j) + LSB));
+            if (((j - home) & mask) >= ((j - gap) & mask)) {
+                copy(j, gap);
+                gap = j;
+            }
+        }
+        clearRecord(gap);
+    }
+
+    void clear() {
+        for (int i = 0; i < capacity; i++) clearRecord(i);
+        setCount(0);
+    }
+
+    void forEach(Visitor visitor) {
+        for (int i = 0; i < capacity; i++) {
+            if (free(i)) continue;
+            int at = offset(i);
+            visitor.accept(new UUID(buf.getLong(at + MSB), buf.getLong(at + LSB)),
+                    getName(at), buf.getInt(at + HIGH), buf.getInt(at + GAMES));
+        }
+    }
+
+    /** Push written records to the disk. */
+    void force() { buf.force(); }
+
+    /** Flushes and closes the channel; the mapping itself is released when collected. */
+    @Override
+    public void close() throws IOException {
+        force();
+        channel.close();
+    }
+
+    // ===== internals =====
+
+    private void apply(boolean wipe, Map<UUID, Row> after) throws IOException {
+        if (wipe) clear();
+        for (var it : after.entrySet()) {
+            Row r = it.getValue();
+            if (r == null) remove(it.getKey());
+            else put(r.id(), r.name(), r.highScore(), r.gamesPlayed());
+        }
+    }
+
+    // Redo log: magic, wipe flag, count, then per player msb, lsb, present flag and (if present)
+    // high, games and optional name; a CRC32 of all of that closes it. Synced before returning.
+    private void writeLog(boolean wipe, Map<UUID, Row> after) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(32 + after.size() * 48);
+        DataOutputStream out = new DataOutputStream(bytes);
+        out.writeInt(WAL_MAGIC);
+        out.writeBoolean(wipe);
+        out.writeInt(after.size());
+        for (var it : after.entrySet()) {
+            Row r = it.getValue();
+            out.writeLong(it.getKey().getMostSignificantBits());
+            out.writeLong(it.getKey().getLeastSignificantBits());
+            out.writeBoolean(r != null);
+            if (r == null) continue;
+            out.writeInt(r.highScore());
+            out.writeInt(r.gamesPlayed());
+            out.writeBoolean(r.name() != null);
+            if (r.name() != null) out.writeUTF(r.name());
+        }
+        CRC32 crc = new CRC32();
+        crc.update(bytes.toByteArray());
+        out.writeLong(crc.getValue());
+        out.flush();
+
+        try (FileChannel ch = FileChannel.open(wal, CREATE, TRUNCATE_EXISTING, WRITE)) {
+            ch.write(java.nio.ByteBuffer.wrap(bytes.toByteArray()));
+            ch.force(true);
+        }
+    }
+
+    // Re-apply a complete log left by a crash; drop a torn one.
+    private void recover() throws IOException {
+        if (!Files.exists(wal)) return;
+        byte[] all = Files.readAllBytes(wal);
+        if (all.length >= 8) {
+            CRC32 crc = new CRC32();
+            crc.update(all, 0, all.length - 8);
+            DataInputStream in = new DataInputStream(new ByteArrayInputStream(all));
+            long stored = java.nio.ByteBuffer.wrap(all, all.length - 8, 8).getLong();
+            if (stored == crc.getValue() && in.readInt() == WAL_MAGIC) {
+                boolean wipe = in.readBoolean();
+                int n = in.readInt();
+                Map<UUID, Row> after = new LinkedHashMap<>();
+                for (int i = 0; i < n; i++) {
+                    UUID id = new UUID(in.readLong(), in.readLong());
+                    if (!in.readBoolean()) { after.put(id, null); continue; }
+                    int high = in.readInt(), games = in.readInt();
+                    String name = in.readBoolean() ? in.readUTF() : null;
+                    after.put(id, new Row(id, name, high, games));
+                }
+                reserve(after.size());
+                apply(wipe, after);
+                force();
+            }
+        }
+        Files.deleteIfExists(wal);
+    }
+
+    // The header's count is only a cache of the occupied records. A crash can persist record pages
+    // and not the header page (or the reverse), and a low count lets reserve() under-grow until the
+    // table fills and find() never meets a free slot, so it is rebuilt from the records on open.
+    private void recount() {
+        int n = 0;
+        for (int i = 0; i < capacity; i++) if (!free(i)) n++;
+        if (n != buf.getInt(12)) setCount(n);
+        else count = n;
+    }
+
+    // Slot holding id, or -(free slot to insert at) - 1.
+    private int find(UUID id) {
+        long msb = id.getMostSignificantBits(), lsb = id.getLeastSignificantBits();
+        if (msb == 0 && lsb == 0) throw new IllegalArgumentException("nil UUID");
+        for (int i = home(msb, lsb); ; i = (i + 1) & mask) {
+            if (free(i)) return -i - 1;
+            int at = offset(i);
+            if (buf.getLong(at + MSB) == msb && buf.getLong(at + LSB) == lsb) return i;
+        }
+    }
+
+    private void insert(int slot, UUID id, String name, int highScore, int gamesPlayed) throws IOException {
+        if (count + 1 > capacity * LOAD) {
+            reserve(1);
+            slot = -find(id) - 1;
+        }
+        int at = offset(slot);
+        buf.putLong(at + MSB, id.getMostSignificantBits());
+        buf.putLong(at + LSB, id.getLeastSignificantBits());
+        buf.putInt(at + HIGH, highScore);
+        buf.putInt(at + GAMES, gamesPlayed);
+        putName(at, name);
+        setCount(count + 1);
+    }
+
+    // Room for {@code extra} more players without growing.
+    private void reserve(int extra) throws IOException {
+        int cap = capacity;
+        while (count + extra > cap * LOAD) cap <<= 1;
+        if (cap != capacity) grow(cap);
+    }
+
+    // Rehash into a larger table beside this one, then rename it over this file. Neither file may be
+    // open or mapped across the rename (Windows refuses it), so both are released first and the
+    // result is mapped afresh.
+    private void grow(int newCapacity) throws IOException {
+        Path tmp = path.resolveSibling(path.getFileName() + ".grow");
+        ScoreFile bigger = create(tmp, newCapacity);
+        try {
+            forEach((id, name, high, games) -> {
+                int at = bigger.offset(-bigger.find(id) - 1);
+                bigger.buf.putLong(at + MSB, id.getMostSignificantBits());
+                bigger.buf.putLong(at + LSB, id.getLeastSignificantBits());
+                bigger.buf.putInt(at + HIGH, high);
+                bigger.buf.putInt(at + GAMES, games);
+                bigger.putName(at, name);
+            });
+            bigger.setCount(count);
+            bigger.force();
+        } catch (RuntimeException e) {
+            bigger.release();
+            Files.deleteIfExists(tmp);
+            throw e;
+        }
+        bigger.release();
+
+        force();
+        release();
+        try {
+            try {
+                Files.move(tmp, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            } catch (AtomicMoveNotSupportedException e) {
+                Files.move(tmp, path, StandardCopyOption.REPLACE_EXISTING);
+            }
+        } catch (IOException e) {
+            Files.deleteIfExists(tmp);
+            adopt(open(path)); // the old table is untouched; carry on with it
+            throw e;
+        }
+        adopt(open(path));
+    }
+
+    // Close the channel and drop the mapping (unmapped once collected).
+    private void release() throws IOException {
+        buf = null;
+        channel.close();
+    }
+
+    private void adopt(ScoreFile other) {
+        channel = other.channel;
+        buf = other.buf;
+        capacity = other.capacity;
+        mask = other.mask;
+        count = other.count;
+    }
+
+    private int offset(int slot) { return HEADER + slot * RECORD; }
+
+    private boolean free(int slot) {
+        int at = offset(slot);
+        return buf.getLong(at + MSB) == 0 && buf.getLong(at + LSB) == 0;
+    }
+
+    private int home(long msb, long lsb) {
+        long h = msb ^ lsb;
+        // fmix64 finaliser, as in LongHashMap
+        h ^= h >>> 33;
+        h *= 0xff51afd7ed558ccdL;
+        h ^= h >>> 33;
+        h *= 0xc4ceb9fe1a85ec53L;
+        h ^= h >>> 33;
+        return (int) h & mask;
+    }
+
+    private void copy(int from, int to) {
+        int src = offset(from), dst = offset(to);
+        for (int i = 0; i < RECORD; i += 8) buf.putLong(dst + i, buf.getLong(src + i));
+    }
+
+    private void clearRecord(int slot) {
+        int at = offset(slot);
+        for (int i = 0; i < RECORD; i += 8) buf.putLong(at + i, 0L);
+    }
+
+    private void setCount(int n) {
+        count = n;
+        buf.putInt(12, n);
+    }
+
+    private void putName(int at, String name) {
+        byte[] b = name != null ? name.getBytes(StandardCharsets.UTF_8) : new byte[0];
+        int len = Math.min(b.length, NAME_MAX);
+        // cut on a character boundary: back off any UTF-8 continuation bytes at the cut
+        if (len < b.length) while (len > 0 && (b[len] & 0xC0) == 0x80) len--;
+        buf.put(at + NAME_LEN, (byte) len);
+        buf.put(at + NAME, b, 0, len);
+    }
+
+    private String getName(int at) {
+        int len = buf.get(at + NAME_LEN);
+        if (len <= 0) return null;
+        byte[] b = new byte[Math.min(len, NAME_MAX)];
+        buf.get(at + NAME, b);
+        return new String(b, StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,132 @@
+package DKsMinigames.dKsMinigames.stats;
+
+import DKsMinigames.dKsMinigames.stats.HighScoreStore.Row;
+
+import java.io.File;
+import java.io.IOException;
+import java.sql.*;
+import java.util.List;
+import java.util.UUID;
+import java.util.function.Consumer;
+
+/**
+ * Embedded SQLite database per game ({@code <game>.db}) through the xerial JDBC driver, which the
+ * server downloads from the {@code libraries} list in plugin.yml. A batch is one transaction of
+ * batched prepared statements.
+ */
+final class SqliteBackend implements ScoreBackend {
+    private static final String DRIVER = "org.sqlite.JDBC";
+    private static final String UPSERT_SCORE =
+            "INSERT INTO scores (uuid, name, high, games) VALUES (?, ?, ?, 1) ON CONFLICT (uuid) DO UPDATE SET "
+            + "games = games + 1, high = MAX(high, excluded.high), name = COALESCE(excluded.name, name)";
+    private static final String UPSERT_SET =
+            "INSERT INTO scores (uuid, name, high, games) VALUES (?, ?, ?, ?) ON CONFLICT (uuid) DO UPDATE SET "
+            + "name = excluded.name, high = excluded.high, games = excluded.games";
+
+    private final Connection db;
+    private final PreparedStatement score;
+    private final PreparedStatement set;
+    private final PreparedStatement reset;
+    private final PreparedStatement wipe;
+
+    private SqliteBackend(Connection db) throws SQLException {
+        this.db = db;
+        this.score = db.prepareStatement(UPSERT_SCORE);
+        this.set = db.prepareStatement(UPSERT_SET);
+        this.reset = db.prepareStatement("DELETE FROM scores WHERE uuid = ?");
+        this.wipe = db.prepareStatement("DELETE FROM scores");
+    }
+
+    static SqliteBackend open(File file) throws IOException {
+        File dir = file.getAbsoluteFile().getParentFile();
+        if (dir != null && !dir.exists()) dir.mkdirs();
+        try {
+            Class.forName(DRIVER);
+        } catch (ClassNotFoundException e) {
+            throw new IOException("SQLite driver " + DRIVER + " is not on the classpath"
+                    + " (plugin.yml lists it under libraries; is the server offline or older than 1.17?)", e);
+        }
+        Connection c = null;
+        try {
+            c = DriverManager.getConnection("jdbc:sqlite:" + file.getAbsolutePath());
+            try (Statement st = c.createStatement()) {
+                st.execute("PRAGMA journal_mode = WAL");
+                st.execute("PRAGMA synchronous = NORMAL");
+                st.execute("CREATE TABLE IF NOT EXISTS scores ("
+                        + "uuid TEXT PRIMARY KEY, name TEXT, high INTEGER NOT NULL, games INTEGER NOT NULL)");
+                st.execute("DROP INDEX IF EXISTS scores_rank"); // earlier builds made it; ranks come from memory
+            }
+            c.setAutoCommit(false);
+            return new SqliteBackend(c);
+        } catch (SQLException e) {
+            if (c != null) try { c.close(); } catch (SQLException ignored) {}
+            throw new IOException("Cannot open " + file.getName() + ": " + e.getMessage(), e);
+        }
+    }
+
+    @Override
+    public void load(Consumer<Row> sink) throws IOException {
+        try (Statement st = db.createStatement();
+             ResultSet rs = st.executeQuery("SELECT uuid, name, high, games FROM scores")) {
+            while (rs.next()) {
+                try {
+                    sink.accept(new Row(UUID.fromString(rs.getString(1)), rs.getString(2), rs.getInt(3), rs.getInt(4)));
+                } catch (IllegalArgumentException ignored) {
+                    // skip invalid UUIDs
+                }
+            }
+            db.commit();
+        } catch (SQLException e) {
+            throw new IOException(e.getMessage(), e);
+        }
+    }
+
+    @Override
+    public void write(List<ScoreEvent> batch, List<Row> snapshot) throws IOException {
+        try {
+            // consecutive events of one kind go out as one JDBC batch; order between kinds is kept
+            PreparedStatement open = null;
+            for (ScoreEvent e : batch) {
+                PreparedStatement ps = statementFor(e);
+                if (open != null && open != ps) open.executeBatch();
+                bind(ps, e);
+                ps.addBatch();
+                open = ps;
+            }
+            if (open != null) open.executeBatch();
+            db.commit();
+        } catch (SQLException e) {
+            try { db.rollback(); } catch (SQLException ignored) {}
+            throw new IOException(e.getMessage(), e);
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        try {
+            db.close();
+        } catch (SQLException e) {
+            throw new IOException(e.getMessage(), e);
+        }
+    }
+
+    // ===== internals =====
+
+    private PreparedStatement statementFor(ScoreEvent e) {
+        return switch (e.op()) {
+            case SCORE -> score;
+            case SET -> set;
+            case RESET -> reset;
+            case WIPE -> wipe;
+        };
+    }
+
+    private static void bind(PreparedStatement ps, ScoreEvent e) throws SQLException {
+        if (e.op() == ScoreEvent.Op.WIPE) return;
+        ps.setString(1, e.id().toString());
+        if (e.op() == ScoreEvent.Op.RESET) return;
+        ps.setString(2, e.name());
+        ps.setInt(3, e.highScore());
+        if (e.op() == ScoreEvent.Op.SET) ps.setInt(4, e.gamesPlayed());
+    }
+}
@@ -0,0 +1,47 @@
+package DKsMinigames.dKsMinigames.stats;
+
+import DKsMinigames.dKsMinigames.stats.HighScoreStore.Row;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Best score per player within one period (a day, a week, a season). The board is keyed by the
+ * period's bucket number; when a different bucket is seen the whole board is swapped for an empty
+ * one, so rolling over costs O(1) however much it held. Not thread-safe; {@link HighScoreStore} guards it.
+ */
+final class WindowBoard {
+    private long bucket;
+    private RankIndex ranks = new RankIndex();
+
+    WindowBoard(long bucket) { this.bucket = bucket; }
+
+    long bucket() { return bucket; }
+
+    /** Move to {@code now}'s bucket, dropping the previous period if it changed. */
+    void roll(long now) {
+        if (now == bucket) return;
+        bucket = now;
+        ranks = new RankIndex();
+    }
+
+    /** Keep {@code score} if it beats the player's best this period; the name is refreshed either way. */
+    void record(UUID id, String name, int score) {
+        RankIndex.Node cur = ranks.get(id);
+        ranks.put(id, name, cur != null ? Math.max(cur.score, score) : score);
+    }
+
+    void remove(UUID id) { ranks.remove(id); }
+
+    void clear() { ranks = new RankIndex(); }
+
+    RankIndex ranks() { return ranks; }
+
+    /** Everyone on the board, best first ({@code gamesPlayed} unused). */
+    List<Row> rows() {
+        List<Row> out = new ArrayList<>(ranks.size());
+        for (RankIndex.Node n : ranks.top(ranks.size())) out.add(new Row(n.id, n.name, n.score, 0));
+        return out;
+    }
+}
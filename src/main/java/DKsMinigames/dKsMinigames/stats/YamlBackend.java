@@ -0,0 +1,196 @@
+package DKsMinigames.dKsMinigames.stats;
+
+import DKsMinigames.dKsMinigames.stats.HighScoreStore.Row;
+import org.bukkit.configuration.file.YamlConfiguration;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.*;
+import java.util.function.Consumer;
+
+/**
+ * The readable format: a YAML snapshot ({@code <game>.yml}) plus an append-only journal of events
+ * ({@code <game>.journal}) replayed on top of it at load. A batch is one append, however many
+ * players there are; once the journal passes {@value #COMPACT_BYTES} bytes the next write is a
+ * fresh snapshot instead, which moves to the next generation and so retires the journal. That
+ * snapshot is rebuilt from the files themselves (snapshot, journal, then the batch), on the I/O
+ * queue, so compacting never needs the store's players or its lock.
+ */
+final class YamlBackend implements ScoreBackend {
+    private static final long COMPACT_BYTES = 512 * 1024;
+    private static final String GEN_HEADER = "# gen ";
+
+    private final String gameName;
+    private final File file;
+    private final File journal;
+    private int gen = 0;            // generation of the snapshot on disk
+    private int journalGen = -1;    // generation the journal file was started for (-1: none yet)
+    private long journalBytes = 0;
+
+    YamlBackend(String gameName, File file) {
+        this.gameName = gameName;
+        this.file = file;
+        String base = file.getName().endsWith(".yml") ? file.getName().substring(0, file.getName().length() - 4) : file.getName();
+        this.journal = new File(file.getParentFile(), base + ".journal");
+    }
+
+    /** Whether anything is stored in this format yet. */
+    boolean exists() { return file.exists() || journal.exists(); }
+
+    /** Set the files aside as {@code *.migrated} once another backend has taken their contents over. */
+    void retire() throws IOException {
+        for (File f : new File[] { file, journal }) {
+            if (f.exists()) Files.move(f.toPath(), f.toPath().resolveSibling(f.getName() + ".migrated"), StandardCopyOption.REPLACE_EXISTING);
+        }
+    }
+
+    @Override
+    public void load(Consumer<Row> sink) throws IOException {
+        read().values().forEach(sink);
+    }
+
+    @Override
+    public void write(List<ScoreEvent> batch, List<Row> snapshot) throws IOException {
+        if (snapshot == null && journalBytes < COMPACT_BYTES) {
+            appendJournal(batch);
+            return;
+        }
+        if (snapshot == null) { // compact: what is on disk, plus this batch
+            Map<UUID, Row> rows = read();
+            for (ScoreEvent e : batch) e.applyTo(rows);
+            snapshot = new ArrayList<>(rows.values());
+        }
+        writeSnapshot(snapshot);
+        try {
+            startJournal();
+        } catch (IOException ignored) {
+            // the snapshot is down, so the batch is safe; the stale journal's generation no longer
+            // matches, so it is not replayed, and the next append starts a fresh one
+        }
+    }
+
+    @Override
+    public void close() {}
+
+    // ===== internals =====
+
+    // Every stored player: the snapshot with the journal replayed on top.
+    private Map<UUID, Row> read() throws IOException {
+        Map<UUID, Row> rows = new HashMap<>();
+        YamlConfiguration cfg = YamlConfiguration.loadConfiguration(file);
+        gen = cfg.getInt("meta.gen", 0);
+        var players = cfg.getConfigurationSection("players");
+        if (players != null) {
+            for (String key : players.getKeys(false)) {
+                try {
+                    UUID id = UUID.fromString(key);
+                    rows.put(id, new Row(id,
+                            cfg.getString("players." + key + ".name", null),
+                            cfg.getInt("players." + key + ".high", 0),
+                            cfg.getInt("players." + key + ".games", 0)));
+                } catch (IllegalArgumentException ignored) {
+                    // skip invalid UUID keys
+                }
+            }
+        }
+        replayJournal(rows);
+        return rows;
+    }
+
+    // Apply the journal tail on top of the snapshot; a journal from an older generation was
+    // already folded into the snapshot (a compaction stopped before it could replace it).
+    private void replayJournal(Map<UUID, Row> into) throws IOException {
+        if (!journal.exists()) return;
+        List<String> lines = Files.readAllLines(journal.toPath(), StandardCharsets.UTF_8);
+        journalBytes = journal.length();
+        if (lines.isEmpty() || !lines.getFirst().startsWith(GEN_HEADER)) return;
+        try {
+            journalGen = Integer.parseInt(lines.getFirst().substring(GEN_HEADER.length()).trim());
+        } catch (NumberFormatException e) {
+            return;
+        }
+        if (journalGen != gen) return;
+
+        for (int i = 1; i < lines.size(); i++) {
+            try {
+                parse(lines.get(i)).applyTo(into);
+            } catch (RuntimeException ignored) {
+                // skip a torn or malformed line (e.g. the last one after a crash)
+            }
+        }
+    }
+
+    private void appendJournal(List<ScoreEvent> batch) throws IOException {
+        if (journalGen != gen) startJournal(); // no journal yet, or a compaction could not replace it
+        StringBuilder sb = new StringBuilder(batch.size() * 64);
+        for (ScoreEvent e : batch) sb.append(format(e)).append('\n');
+        byte[] bytes = sb.toString().getBytes(StandardCharsets.UTF_8);
+        Files.write(journal.toPath(), bytes, StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+        journalBytes += bytes.length;
+    }
+
+    // Compaction: the snapshot moves to the next generation, which retires the current journal.
+    private void writeSnapshot(List<Row> rows) throws IOException {
+        YamlConfiguration cfg = new YamlConfiguration();
+        for (Row r : rows) {
+            String base = "players." + r.id();
+            if (r.name() != null) cfg.set(base + ".name", r.name());
+            cfg.set(base + ".high", r.highScore());
+            cfg.set(base + ".games", r.gamesPlayed());
+        }
+        cfg.set("meta.game", gameName);
+        cfg.set("meta.gen", gen + 1);
+        writeAtomically(file, cfg.saveToString());
+        gen++;
+    }
+
+    private void startJournal() throws IOException {
+        String header = GEN_HEADER + gen + "\n";
+        writeAtomically(journal, header);
+        journalGen = gen;
+        journalBytes = header.length();
+    }
+
+    // Journal lines: S <uuid> <score> [name] | I <uuid> <high> <games> [name] | R <uuid> | W
+    private static String format(ScoreEvent e) {
+        String name = e.name() != null ? " " + e.name() : "";
+        return switch (e.op()) {
+            case SCORE -> "S " + e.id() + " " + e.highScore() + name;
+            case SET -> "I " + e.id() + " " + e.highScore() + " " + e.gamesPlayed() + name;
+            case RESET -> "R " + e.id();
+            case WIPE -> "W";
+        };
+    }
+
+    private static ScoreEvent parse(String line) {
+        String[] f = line.split(" ", 5);
+        return switch (f[0]) {
+            case "S" -> ScoreEvent.score(UUID.fromString(f[1]), f.length > 3 ? f[3] : null, Integer.parseInt(f[2]));
+            case "I" -> new ScoreEvent(ScoreEvent.Op.SET, UUID.fromString(f[1]), f.length > 4 ? f[4] : null,
+                    Integer.parseInt(f[2]), Integer.parseInt(f[3]));
+            case "R" -> ScoreEvent.reset(UUID.fromString(f[1]));
+            case "W" -> ScoreEvent.wipe();
+            default -> throw new IllegalArgumentException("Unknown journal entry: " + line);
+        };
+    }
+
+    // Write beside the target, then rename over it: a crash leaves the old file or the new one, never half of one.
+    static void writeAtomically(File dest, String contents) throws IOException {
+        File dir = dest.getAbsoluteFile().getParentFile();
+        if (dir != null && !dir.exists()) dir.mkdirs();
+        Path target = dest.toPath();
+        Path tmp = target.resolveSibling(dest.getName() + ".tmp");
+        Files.writeString(tmp, contents, StandardCharsets.UTF_8);
+        try {
+            Files.move(tmp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (AtomicMoveNotSupportedException e) {
+            Files.move(tmp, target, StandardCopyOption.REPLACE_EXISTING);
+        }
+    }
+}
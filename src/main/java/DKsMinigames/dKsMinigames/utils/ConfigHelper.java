@@ -1,85 +1,87 @@
 package DKsMinigames.dKsMinigames.utils;
 
-import org.bukkit.Bukkit;
 import org.bukkit.Location;
-import org.bukkit.World;
-import org.bukkit.configuration.file.FileConfiguration;
 import org.bukkit.plugin.Plugin;
 
+import java.time.LocalDate;
 import java.util.List;
-import java.util.Locale;
-import java.util.Map;
+import java.util.function.Consumer;
 
+/**
+ * Typed reads of config.yml, served from the current {@link ConfigSnapshot}.
+ * Nothing here re-parses the YAML; {@link #reload(Plugin)} swaps in a new snapshot.
+ * Returned Locations are copies, so callers may modify them.
+ */
 public final class ConfigHelper {
+    private static volatile ConfigSnapshot current;
+
     private final Plugin plugin;
     public ConfigHelper(Plugin plugin) { this.plugin = plugin; }
 
-    public Location getHubSpawn() {
-        FileConfiguration c = plugin.getConfig();
-        double x = c.getDouble("hub.spawn.x");
-        double y = c.getDouble("hub.spawn.y");
-        double z = c.getDouble("hub.spawn.z");
-        return new Location(plugin.getServer().getWorld("world"), x, y, z);
+    /**
+     * Re-parse the plugin's (already reloaded) config and swap it in atomically.
+     * On a bad config the previous snapshot stays active and the error is thrown.
+     */
+    public static ConfigSnapshot reload(Plugin plugin) { return reload(plugin, next -> {}); }
+
+    /**
+     * As {@link #reload(Plugin)}, but {@code check} sees the parsed snapshot first and rejects it by
+     * throwing (e.g. it no longer fits what is running); the previous snapshot then stays active.
+     */
+    public static ConfigSnapshot reload(Plugin plugin, Consumer<ConfigSnapshot> check) {
+        ConfigSnapshot next = ConfigSnapshot.parse(plugin.getConfig());
+        check.accept(next);
+        current = next;
+        return next;
     }
 
-    private Map<?, ?> getGameConfig(String name) {
-        FileConfiguration c = plugin.getConfig();
-
-        return c.getMapList("games").stream()
-            .filter(m -> name.equalsIgnoreCase((String) m.get("name")))
-            .findFirst()
-            .orElseThrow(() -> new IllegalStateException("No game with name " + name));
+    /** The snapshot in effect; read it once per operation for a consistent view. */
+    public ConfigSnapshot snapshot() {
+        ConfigSnapshot s = current;
+        if (s == null) {
+            synchronized (ConfigHelper.class) {
+                s = current;
+                if (s == null) s = reload(plugin);
+            }
+        }
+        return s;
     }
 
-    @SuppressWarnings("unchecked")
-    public Location getGameSpawn(String name) {
-        Map<String, Object> spawn = (Map<String, Object>) this.getGameConfig(name).get("spawn");
-
-        int x = ((Number) spawn.get("x")).intValue();
-        int y = ((Number) spawn.get("y")).intValue();
-        int z = ((Number) spawn.get("z")).intValue();
-
-        String facingRaw = (String) spawn.getOrDefault("facing", "south");
-        float yaw;
-        switch (facingRaw.toLowerCase(Locale.ROOT)) {
-            case "north" -> yaw = 180f;
-            case "west" -> yaw = 90f;
-            case "east" -> yaw = -90f; // or 270f
-            default -> yaw = 0f; // south
-        }
+    public Location getHubSpawn() { return snapshot().hubSpawn().clone(); }
 
-        return new Location(Bukkit.getWorlds().getFirst(), x + 0.5, y, z + 0.5, yaw, 0f);
-    }
+    /** Number of arenas configured for a game; a game without an {@code arenas} list has exactly one. */
+    public int getArenaCount(String name) { return snapshot().game(name).arenas().size(); }
 
-    public List<Location> getGameArena(String name) {
-        Map<?, ?> spawn = (Map<?, ?>) this.getGameConfig(name).get("arena");
+    /** Parsed arena (spawn, facing and floor bounds). */
+    public ConfigSnapshot.Arena getArena(String name, int arena) { return snapshot().game(name).arena(arena); }
 
-        int x1 = ((Number) spawn.get("x1")).intValue();
-        int y1 = ((Number) spawn.get("y1")).intValue();
-        int z1 = ((Number) spawn.get("z1")).intValue();
-        int x2 = ((Number) spawn.get("x2")).intValue();
-        int y2 = ((Number) spawn.get("y2")).intValue();
-        int z2 = ((Number) spawn.get("z2")).intValue();
+    public Location getGameSpawn(String name) { return getGameSpawn(name, 0); }
 
-        World world = Bukkit.getWorlds().getFirst();
+    public Location getGameSpawn(String name, int arena) { return getArena(name, arena).spawn().clone(); }
 
-        return List.of(
-            new Location(world, x1, y1, z1),
-            new Location(world, x2, y2, z2)
-        );
-    }
+    public List<Location> getGameArena(String name) { return getGameArena(name, 0); }
 
-    @SuppressWarnings("unchecked")
-    public String getSpawnFacingDirection(String name) {
-        Map<String, Object> spawn = (Map<String, Object>) this.getGameConfig(name).get("spawn");
-        return (String) spawn.getOrDefault("facing", "south");
+    public List<Location> getGameArena(String name, int arena) {
+        List<Location> corners = getArena(name, arena).floor().corners();
+        return List.of(corners.get(0).clone(), corners.get(1).clone());
     }
 
-    public int getCountdown() {
-        return plugin.getConfig().getInt("game-defaults.countdown", 5);
-    }
+    public String getSpawnFacingDirection(String name) { return getSpawnFacingDirection(name, 0); }
 
-    public int getEndWait() {
-        return plugin.getConfig().getInt("game-defaults.end-wait", 3);
-    }
+    public String getSpawnFacingDirection(String name, int arena) { return getArena(name, arena).facing(); }
+
+    public int getCountdown() { return snapshot().countdown(); }
+
+    public int getEndWait() { return snapshot().endWait(); }
+
+    /** Microseconds of block work each game may do per tick before the rest waits for the next tick. */
+    public int getTickBudgetMicros() { return snapshot().tickBudgetMicros(); }
+
+    /** On-disk high score format: {@code yaml}, {@code binary} or {@code sqlite}. */
+    public String getHighScoreFormat() { return snapshot().highScoreFormat(); }
+
+    /** First day of season 1; seasons follow back to back, {@link #getSeasonDays()} long each. */
+    public LocalDate getSeasonStart() { return snapshot().seasonStart(); }
+
+    public int getSeasonDays() { return snapshot().seasonDays(); }
 }
@@ -0,0 +1,113 @@
+package DKsMinigames.dKsMinigames.utils;
+
+import org.bukkit.Bukkit;
+import org.bukkit.Location;
+import org.bukkit.World;
+import org.bukkit.configuration.file.FileConfiguration;
+
+import java.time.LocalDate;
+import java.util.*;
+
+/**
+ * config.yml parsed once into immutable, typed values with arena geometry precomputed.
+ * A reload builds a new snapshot and swaps it in whole, so readers never see half a config.
+ */
+public record ConfigSnapshot(Location hubSpawn, int countdown, int endWait, int tickBudgetMicros,
+                             String highScoreFormat, LocalDate seasonStart, int seasonDays,
+                             Map<String, Game> games) {
+
+    /** One configured game; {@code arenas} always has at least one entry. */
+    public record Game(String name, int minPlayers, String primaryColor, String secondaryColor, List<Arena> arenas) {
+        public Arena arena(int index) {
+            if (index < 0 || index >= arenas.size()) {
+                throw new IllegalStateException("No arena #" + (index + 1) + " for " + name);
+            }
+            return arenas.get(index);
+        }
+    }
+
+    public record Arena(Location spawn, String facing, Floor floor) {}
+
+    /** Floor rectangle at {@code y}: the configured corners plus the normalised bounds. */
+    public record Floor(World world, int y, int minX, int minZ, int maxX, int maxZ, List<Location> corners) {
+        public int width()  { return (maxX - minX) + 1; }
+        public int height() { return (maxZ - minZ) + 1; }
+    }
+
+    /** The game's config (name matched case-insensitively). */
+    public Game game(String name) {
+        Game g = games.get(name.toLowerCase(Locale.ROOT));
+        if (g == null) throw new IllegalStateException("No game with name " + name);
+        return g;
+    }
+
+    // ===== Parsing =====
+
+    public static ConfigSnapshot parse(FileConfiguration c) {
+        Location hub = new Location(Bukkit.getWorld("world"),
+                c.getDouble("hub.spawn.x"), c.getDouble("hub.spawn.y"), c.getDouble("hub.spawn.z"));
+
+        Map<String, Game> games = new LinkedHashMap<>();
+        for (Map<?, ?> m : c.getMapList("games")) {
+            Game g = parseGame(m);
+            games.put(g.name().toLowerCase(Locale.ROOT), g);
+        }
+
+        return new ConfigSnapshot(hub,
+                c.getInt("game-defaults.countdown", 5),
+                c.getInt("game-defaults.end-wait", 3),
+                c.getInt("game-defaults.tick-budget-us", 2000),
+                c.getString("highscores.format", "yaml"),
+                LocalDate.parse(c.getString("highscores.season-start", "2026-01-05")),
+                Math.max(1, c.getInt("highscores.season-days", 91)),
+                Collections.unmodifiableMap(games));
+    }
+
+    private static Game parseGame(Map<?, ?> m) {
+        String name = (String) m.get("name");
+        if (name == null) throw new IllegalStateException("Game entry without a name");
+
+        // Arena entries carry their own spawn/arena; legacy configs keep them on the game itself.
+        List<Arena> arenas = new ArrayList<>();
+        if (m.get("arenas") instanceof List<?> list && !list.isEmpty()) {
+            for (Object o : list) arenas.add(parseArena(name, (Map<?, ?>) o));
+        } else {
+            arenas.add(parseArena(name, m));
+        }
+
+        Object min = m.get("min-players");
+        if (!(min instanceof Number n)) throw new IllegalStateException("No min-players for " + name);
+        return new Game(name, n.intValue(), (String) m.get("primary-color"), (String) m.get("secondary-color"),
+                List.copyOf(arenas));
+    }
+
+    private static Arena parseArena(String game, Map<?, ?> m) {
+        World world = Bukkit.getWorlds().getFirst();
+
+        Map<?, ?> spawn = (Map<?, ?>) m.get("spawn");
+        if (spawn == null) throw new IllegalStateException("No spawn for " + game);
+        String facing = spawn.get("facing") instanceof String f ? f : "south";
+        float yaw = switch (facing.toLowerCase(Locale.ROOT)) {
+            case "north" -> 180f;
+            case "west" -> 90f;
+            case "east" -> -90f;
+            default -> 0f; // south
+        };
+        Location spawnLoc = new Location(world, num(spawn, "x") + 0.5, num(spawn, "y"), num(spawn, "z") + 0.5, yaw, 0f);
+
+        Map<?, ?> a = (Map<?, ?>) m.get("arena");
+        if (a == null) throw new IllegalStateException("No arena for " + game);
+        int x1 = num(a, "x1"), y1 = num(a, "y1"), z1 = num(a, "z1");
+        int x2 = num(a, "x2"), y2 = num(a, "y2"), z2 = num(a, "z2");
+        Floor floor = new Floor(world, y1,
+                Math.min(x1, x2), Math.min(z1, z2), Math.max(x1, x2), Math.max(z1, z2),
+                List.of(new Location(world, x1, y1, z1), new Location(world, x2, y2, z2)));
+
+        return new Arena(spawnLoc, facing, floor);
+    }
+
+    private static int num(Map<?, ?> m, String key) {
+        if (!(m.get(key) instanceof Number n)) throw new IllegalStateException("Missing number '" + key + "'");
+        return n.intValue();
+    }
+}
@@ -8,16 +8,23 @@ import org.bukkit.plugin.Plugin;
 
 import java.util.Arrays;
 import java.util.List;
+import java.util.function.Consumer;
 
 public class DebugCommands implements CommandExecutor, TabCompleter {
     private final Plugin plugin;
-    public DebugCommands(Plugin plugin) { this.plugin = plugin; }
+    private final TimingWheel timers; // debug power-ups belong to no game
+    private final Consumer<ConfigSnapshot> reloadCheck; // throws to refuse a config the running games cannot take
+    public DebugCommands(Plugin plugin, Consumer<ConfigSnapshot> reloadCheck) {
+        this.plugin = plugin;
+        this.reloadCheck = reloadCheck;
+        this.timers = new TimingWheel(plugin, new TickProfiler());
+    }
 
     @Override
     public boolean onCommand(CommandSender sender, Command cmd, String label, String[] args) {
         if (!(sender instanceof Player p)) { sender.sendMessage("Players only."); return true; }
         if (!sender.hasPermission("dks.debug")) { sender.sendMessage("No permission."); return true; }
-        if (args.length == 0) { sender.sendMessage("/debug powerup [x y z]"); return true; }
+        if (args.length == 0) { sender.sendMessage("/debug <powerup [x y z]|reload>"); return true; }
 
         String sub = args[0].toLowerCase();
         switch (sub) {
@@ -28,7 +35,7 @@ public class DebugCommands implements CommandExecutor, TabCompleter {
                 double z = (args.length > 3) ? parseCoord(args[3], base.getZ()) : base.getBlockZ();
 
                 new PowerUp(
-                        plugin,
+                        timers,
                         new Location(p.getWorld(), x + 0.5, y, z + 0.5),
                         pl -> pl.sendMessage("DEBUG: Item collected"),
                         pl -> true,
@@ -37,6 +44,20 @@ public class DebugCommands implements CommandExecutor, TabCompleter {
                 p.sendMessage("Spawned PowerUp at " + (int)x + " " + (int)y + " " + (int)z + ".");
                 return true;
             }
+            case "reload" -> {
+                // Parse and check first, then swap: a broken config, or one that drops a game or an
+                // arena that is running, leaves the running snapshot in place.
+                plugin.reloadConfig();
+                try {
+                    var snap = ConfigHelper.reload(plugin, reloadCheck);
+                    sender.sendMessage("Config reloaded (" + snap.games().size() + " games). "
+                            + "Added arenas and prefixes apply after a restart.");
+                } catch (RuntimeException e) {
+                    plugin.getLogger().warning("Config reload failed: " + e);
+                    sender.sendMessage("Reload failed, keeping the previous config: " + e.getMessage());
+                }
+                return true;
+            }
             default -> {
                 sender.sendMessage("Unknown debug action.");
                 return true;
@@ -59,7 +80,8 @@ public class DebugCommands implements CommandExecutor, TabCompleter {
     @Override
     public List<String> onTabComplete(CommandSender s, Command c, String l, String[] a) {
         if (!(s instanceof Player p)) return List.of();
-        if (a.length == 1) return List.of("powerup");
+        if (a.length == 1) return List.of("powerup", "reload");
+        if (!a[0].equalsIgnoreCase("powerup")) return List.of();
         if (a.length == 2) return List.of("~", String.valueOf(p.getLocation().getBlockX()));
         if (a.length == 3) return List.of("~", String.valueOf(p.getLocation().getBlockY()));
         if (a.length == 4) return List.of("~", String.valueOf(p.getLocation().getBlockZ()));
@@ -0,0 +1,116 @@
+package DKsMinigames.dKsMinigames.utils;
+
+import org.bukkit.Bukkit;
+import org.bukkit.plugin.Plugin;
+
+import java.io.File;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.*;
+import java.util.function.Consumer;
+import java.util.logging.Level;
+
+/**
+ * Plugin-wide disk I/O off the main thread. Every task runs on a virtual thread; tasks for the
+ * same file run one at a time in submission order (a read queued after a write sees it), while
+ * different files proceed in parallel. Results come back as futures; {@link #sync} hands them
+ * to the main thread. {@link #close} drains everything on disable, after which new tasks run
+ * inline on the caller so late saves still land.
+ */
+public final class IoService {
+    private final Plugin plugin;
+    private final ExecutorService executor =
+            Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("dks-io-", 0).factory());
+    private final Map<String, CompletableFuture<?>> tails = new HashMap<>(); // last task queued per file
+    private boolean closed = false;                // guarded by tails
+
+    public IoService(Plugin plugin) { this.plugin = plugin; }
+
+    /** Queue {@code task} behind everything already queued for {@code file}. */
+    public <T> CompletableFuture<T> submit(File file, Callable<T> task) {
+        return submit(file.getAbsolutePath(), task);
+    }
+
+    /** Same as above for a non-file key (plugin resources, etc.). */
+    public <T> CompletableFuture<T> submit(String key, Callable<T> task) {
+        synchronized (tails) {
+            if (!closed) return enqueue(key, task);
+        }
+        return runInline(task);
+    }
+
+    // Caller holds the tails lock.
+    private <T> CompletableFuture<T> enqueue(String key, Callable<T> task) {
+        CompletableFuture<?> prev = tails.getOrDefault(key, CompletableFuture.completedFuture(null));
+        // run after the previous task whatever its outcome; its failure is its caller's to handle
+        CompletableFuture<T> next = prev.handle((r, e) -> null).thenApplyAsync(x -> call(task), executor);
+        tails.put(key, next);
+        next.whenComplete((r, e) -> {
+            synchronized (tails) { tails.remove(key, next); }
+        });
+        return next;
+    }
+
+    /** Run {@code callback} on the main thread once {@code future} succeeds; failures are logged. */
+    public <T> void sync(CompletableFuture<T> future, Consumer<? super T> callback) {
+        future.whenComplete((r, e) -> {
+            if (e != null) {
+                plugin.getLogger().log(Level.SEVERE, "[IoService] I/O task failed", unwrap(e));
+                return;
+            }
+            if (!plugin.isEnabled()) { callback.accept(r); return; } // disabling: no scheduler any more
+            Bukkit.getScheduler().runTask(plugin, () -> callback.accept(r));
+        });
+    }
+
+    /** Tasks queued or running. */
+    public int pending() {
+        synchronized (tails) { return tails.size(); }
+    }
+
+    /**
+     * Stop taking background work and wait (up to {@code timeoutMillis}) for everything queued.
+     * Anything submitted afterwards runs synchronously on the caller.
+     */
+    public void close(long timeoutMillis) {
+        CompletableFuture<?>[] waiting;
+        synchronized (tails) {
+            closed = true;
+            waiting = tails.values().toArray(new CompletableFuture<?>[0]);
+        }
+        try {
+            CompletableFuture.allOf(waiting).get(timeoutMillis, TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            plugin.getLogger().warning("[IoService] Gave up waiting on " + pending() + " I/O task(s)");
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (ExecutionException ignored) {
+            // individual failures were reported to their callers
+        }
+        executor.shutdown();
+    }
+
+    // ===== internals =====
+
+    private static <T> T call(Callable<T> task) {
+        try {
+            return task.call();
+        } catch (RuntimeException e) {
+            throw e;
+        } catch (Exception e) {
+            throw new CompletionException(e);
+        }
+    }
+
+    private static <T> CompletableFuture<T> runInline(Callable<T> task) {
+        try {
+            return CompletableFuture.completedFuture(task.call());
+        } catch (Exception e) {
+            return CompletableFuture.failedFuture(e);
+        }
+    }
+
+    private static Throwable unwrap(Throwable e) {
+        return (e instanceof CompletionException && e.getCause() != null) ? e.getCause() : e;
+    }
+}
@@ -0,0 +1,62 @@
+package DKsMinigames.dKsMinigames.utils;
+
+/**
+ * Fixed-size log-linear histogram of nanosecond durations: each power of two is split
+ * into 8 buckets (~12% resolution). Recording is O(1) and allocation-free. Main thread only.
+ */
+public final class LatencyHistogram {
+    private static final int SUB_BITS = 3;
+    private static final int SUB = 1 << SUB_BITS;
+    private static final int BUCKETS = 64 * SUB;
+
+    private final long[] counts = new long[BUCKETS];
+    private long total;
+    private long sum;
+    private long max;
+
+    public void record(long nanos) {
+        if (nanos < 0) nanos = 0;
+        counts[index(nanos)]++;
+        total++;
+        sum += nanos;
+        if (nanos > max) max = nanos;
+    }
+
+    public long count() { return total; }
+    public long max() { return max; }
+    public long mean() { return total == 0 ? 0 : sum / total; }
+
+    /** Upper bound of the bucket holding the q-th quantile (0 < q ≤ 1), capped at the max seen. */
+    public long percentile(double q) {
+        if (total == 0) return 0;
+        long target = Math.max(1, (long) Math.ceil(q * total));
+        long seen = 0;
+        for (int i = 0; i < BUCKETS; i++) {
+            seen += counts[i];
+            if (seen >= target) return Math.min(max, lowerBound(i + 1) - 1);
+        }
+        return max;
+    }
+
+    public void reset() {
+        java.util.Arrays.fill(counts, 0);
+        total = 0;
+        sum = 0;
+        max = 0;
+    }
+
+    // Values below SUB get a bucket each; above that, SUB buckets per power of two.
+    private static int index(long v) {
+        if (v < SUB) return (int) v;
+        int shift = (63 - Long.numberOfLeadingZeros(v)) - SUB_BITS;
+        int sub = (int) (v >>> shift) & (SUB - 1);
+        return (shift + 1) * SUB + sub;
+    }
+
+    private static long lowerBound(int idx) {
+        if (idx < SUB) return idx;
+        int shift = idx / SUB - 1;
+        if (shift >= 60) return Long.MAX_VALUE;
+        return ((long) (SUB + idx % SUB)) << shift;
+    }
+}
@@ -0,0 +1,130 @@
+package DKsMinigames.dKsMinigames.utils;
+
+import java.util.Arrays;
+
+/**
+ * Open-addressing hash map from primitive {@code long} keys (packed block positions, etc.)
+ * to non-null values. Linear probing with backward-shift deletion; no boxing on lookup.
+ * Not thread-safe.
+ */
+public final class LongHashMap<V> {
+    private static final float LOAD = 0.6f;
+
+    /** Receives every entry from {@link #forEach}. */
+    @FunctionalInterface
+    public interface Visitor<V> { void accept(long key, V value); }
+
+    private long[] keys;
+    private Object[] values; // null = empty slot
+    private int size;
+    private int mask;
+    private int resizeAt;
+
+    public LongHashMap() { this(16); }
+
+    public LongHashMap(int expected) {
+        int cap = Integer.highestOneBit(Math.max(4, (int) (expected / LOAD) + 1) - 1) << 1;
+        alloc(cap);
+    }
+
+    public int size() { return size; }
+    public boolean isEmpty() { return size == 0; }
+
+    @SuppressWarnings("unchecked")
+    public V get(long key) {
+        for (int i = slot(key); ; i = (i + 1) & mask) {
+            Object v = values[i];
+            if (v == null) return null;
+            if (keys[i] == key) return (V) v;
+        }
+    }
+
+    public boolean containsKey(long key) { return get(key) != null; }
+
+    /** Associates {@code value} (non-null) with {@code key}; returns the previous value or null. */
+    @SuppressWarnings("unchecked")
+    public V put(long key, V value) {
+        if (value == null) throw new NullPointerException("value");
+        int i = slot(key);
+        for (; values[i] != null; i = (i + 1) & mask) {
+            if (keys[i] == key) {
+                V old = (V) values[i];
+                values[i] = value;
+                return old;
+            }
+        }
+        keys[i] = key;
+        values[i] = value;
+        if (++size >= resizeAt) rehash(keys.length << 1);
+        return null;
+    }
+
+    /** Removes {@code key}; returns its value or null if absent. */
+    @SuppressWarnings("unchecked")
+    public V remove(long key) {
+        int i = slot(key);
+        for (; ; i = (i + 1) & mask) {
+            if (values[i] == null) return null;
+            if (keys[i] == key) break;
+        }
+        V old = (V) values[i];
+        size--;
+
+        // Shift later members of the probe run back so lookups never hit a premature gap.
+        int gap = i;
+        for (int j = (gap + 1) & mask; values[j] != null; j = (j + 1) & mask) {
+            int home = slot(keys[j]);
+            if (((j - home) & mask) >= ((j - gap) & mask)) {
+                keys[gap] = keys[j];
+                values[gap] = values[j];
+                gap = j;
+            }
+        }
+        values[gap] = null;
+        return old;
+    }
+
+    public void clear() {
+        Arrays.fill(values, null);
+        size = 0;
+    }
+
+    @SuppressWarnings("unchecked")
+    public void forEach(Visitor<? super V> visitor) {
+        for (int i = 0; i < values.length; i++) {
+            if (values[i] != null) visitor.accept(keys[i], (V) values[i]);
+        }
+    }
+
+    // ===== internals =====
+
+    private int slot(long key) {
+        // fmix64 finaliser: packed coordinates differ mostly in a few bit ranges
+        key ^= key >>> 33;
+        key *= 0xff51afd7ed558ccdL;
+        key ^= key >>> 33;
+        key *= 0xc4ceb9fe1a85ec53L;
+        key ^= key >>> 33;
+        return (int) key & mask;
+    }
+
+    private void alloc(int cap) {
+        keys = new long[cap];
+        values = new Object[cap];
+        mask = cap - 1;
+        resizeAt = (int) (cap * LOAD);
+    }
+
+    private void rehash(int cap) {
+        long[] oldKeys = keys;
+        Object[] oldValues = values;
+        alloc(cap);
+        for (int i = 0; i < oldValues.length; i++) {
+            if (oldValues[i] == null) continue;
+            int j = slot(oldKeys[i]);
+            while (values[j] != null) j = (j + 1) & mask;
+            keys[j] = oldKeys[i];
+            values[j] = oldValues[i];
+        }
+    }
+}
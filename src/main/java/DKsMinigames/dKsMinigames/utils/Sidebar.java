@@ -0,0 +1,75 @@
+package DKsMinigames.dKsMinigames.utils;
+
+import io.papermc.paper.scoreboard.numbers.NumberFormat;
+import net.kyori.adventure.text.Component;
+import net.kyori.adventure.text.serializer.legacy.LegacyComponentSerializer;
+import org.bukkit.scoreboard.Criteria;
+import org.bukkit.scoreboard.DisplaySlot;
+import org.bukkit.scoreboard.Objective;
+import org.bukkit.scoreboard.Scoreboard;
+import org.bukkit.scoreboard.Team;
+
+import java.util.List;
+
+/**
+ * Sidebar with fixed line slots on one viewer's board.
+ * Each slot is an invisible, unique entry whose text lives in its team prefix, so the
+ * objective is registered once and a render only sends the slots whose text changed.
+ */
+public final class Sidebar {
+    public static final int MAX_LINES = 15;
+
+    private static final LegacyComponentSerializer LEGACY = LegacyComponentSerializer.legacySection();
+    private static final String TEAM_PREFIX = "sbl";
+    // "§0§r" … "§e§r": distinct colour codes render as nothing, so entries never show or collide.
+    private static final String[] ENTRIES = new String[MAX_LINES];
+    static {
+        for (int i = 0; i < MAX_LINES; i++) ENTRIES[i] = "§" + Integer.toHexString(i) + "§r";
+    }
+
+    private final Scoreboard board;
+    private final Objective objective;
+    private final Team[] slots = new Team[MAX_LINES];
+    private final String[] shown = new String[MAX_LINES];
+    private int shownCount = 0;
+
+    public Sidebar(Scoreboard board, String objectiveName, Component title) {
+        this.board = board;
+        Objective existing = board.getObjective(objectiveName);
+        this.objective = existing != null ? existing : board.registerNewObjective(objectiveName, Criteria.DUMMY, title);
+        this.objective.displayName(title);
+        this.objective.numberFormat(NumberFormat.blank());
+        this.objective.setDisplaySlot(DisplaySlot.SIDEBAR);
+
+        for (int i = 0; i < MAX_LINES; i++) {
+            String name = TEAM_PREFIX + i;
+            Team t = board.getTeam(name);
+            if (t == null) t = board.registerNewTeam(name);
+            t.addEntry(ENTRIES[i]);
+            slots[i] = t;
+        }
+    }
+
+    public Scoreboard board() { return board; }
+
+    /** Show {@code lines} top to bottom (legacy § colours allowed); extra lines beyond 15 are dropped. */
+    public void render(List<String> lines) {
+        int count = Math.min(lines.size(), MAX_LINES);
+
+        for (int i = 0; i < count; i++) {
+            String line = lines.get(i);
+            if (!line.equals(shown[i])) {
+                slots[i].prefix(LEGACY.deserialize(line));
+                shown[i] = line;
+            }
+            // slot scores never change, so a slot only needs one once it appears
+            if (i >= shownCount) objective.getScore(ENTRIES[i]).setScore(MAX_LINES - i);
+        }
+
+        for (int i = count; i < shownCount; i++) {
+            board.resetScores(ENTRIES[i]);
+            shown[i] = null;
+        }
+        shownCount = count;
+    }
+}
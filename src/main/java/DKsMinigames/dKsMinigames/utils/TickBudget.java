@@ -0,0 +1,136 @@
+package DKsMinigames.dKsMinigames.utils;
+
+import org.bukkit.Bukkit;
+import org.bukkit.plugin.Plugin;
+import org.bukkit.scheduler.BukkitTask;
+
+import java.util.ArrayDeque;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Level;
+
+/**
+ * Runs heavy block work a slice at a time so no single tick pays for a whole arena.
+ * Jobs run in submission order and each server tick spends at most the budget on them,
+ * however many jobs are submitted during it, so a floor reset always finishes before the
+ * next pattern is drawn on it. The timer only runs while work is queued. Main thread only.
+ */
+public final class TickBudget {
+
+    /** A resumable piece of work; each call should do one small, bounded step (a row, a column). */
+    @FunctionalInterface
+    public interface Work {
+        /** Do one step; return true while more steps remain. */
+        boolean step();
+    }
+
+    private record Job(String name, Work work, Runnable onDone) {}
+
+    private final Plugin plugin;
+    private final long budgetNanos;
+    private final TickProfiler profiler;
+    private final LatencyHistogram spent;
+    private final ArrayDeque<Job> queue = new ArrayDeque<>();
+    private BukkitTask task;
+    private boolean running = false;
+    private int tick = -1;           // server tick the spent time below belongs to
+    private long spentThisTick = 0;
+
+    public TickBudget(Plugin plugin, long budgetMicros, TickProfiler profiler) {
+        this.plugin = plugin;
+        this.budgetNanos = Math.max(1, budgetMicros) * 1_000L;
+        this.profiler = profiler;
+        this.spent = profiler.phase("budget");
+    }
+
+    /** A budget that finishes every job on submit; for benchmarks and tools that want the old all-at-once behaviour. */
+    public static TickBudget immediate(Plugin plugin, TickProfiler profiler) {
+        return new TickBudget(plugin, TimeUnit.HOURS.toMicros(1), profiler);
+    }
+
+    public void submit(String name, Work work) { submit(name, work, null); }
+
+    /**
+     * Queue {@code work}; {@code onDone} runs on the main thread once it has finished.
+     * If this tick's budget is not used up yet, the first slice runs right away, so small
+     * jobs may complete before this returns.
+     */
+    public void submit(String name, Work work, Runnable onDone) {
+        queue.addLast(new Job(name, work, onDone));
+        runSlice();
+    }
+
+    public boolean isIdle() { return queue.isEmpty(); }
+
+    /** Drop queued work without running it or its callbacks. */
+    public void cancel() {
+        queue.clear();
+        stopTask();
+    }
+
+    /** Finish all queued work now, ignoring the budget and skipping callbacks; for shutdown. */
+    public void drain() {
+        stopTask();
+        while (!queue.isEmpty()) {
+            Job job = queue.pollFirst();
+            try {
+                while (job.work().step()) { /* run to completion */ }
+            } catch (Throwable t) {
+                plugin.getLogger().log(Level.SEVERE, "Sliced work '" + job.name() + "' failed", t);
+            }
+        }
+    }
+
+    private void runSlice() {
+        if (running) return; // a callback submitted more work; the loop below picks it up
+        int now = Bukkit.getCurrentTick();
+        if (now != tick) {
+            tick = now;
+            spentThisTick = 0;
+        }
+        if (spentThisTick >= budgetNanos) { // earlier slices this tick used it up; wait for the next one
+            if (!plugin.isEnabled()) drain();
+            else if (task == null) task = Bukkit.getScheduler().runTaskTimer(plugin, this::runSlice, 1L, 1L);
+            return;
+        }
+        running = true;
+        final long t0 = System.nanoTime();
+        final long deadline = t0 + (budgetNanos - spentThisTick);
+        try {
+            while (!queue.isEmpty()) {
+                Job job = queue.peekFirst();
+                long s0 = System.nanoTime();
+                boolean more;
+                try {
+                    do { more = job.work().step(); } while (more && System.nanoTime() < deadline);
+                } catch (Throwable t) {
+                    plugin.getLogger().log(Level.SEVERE, "Sliced work '" + job.name() + "' failed; skipping the rest", t);
+                    more = false;
+                }
+                profiler.phase(job.name()).record(System.nanoTime() - s0);
+                if (more) break;
+
+                queue.pollFirst();
+                if (job.onDone() != null) {
+                    try {
+                        job.onDone().run();
+                    } catch (Throwable t) {
+                        plugin.getLogger().log(Level.SEVERE, "Completion of '" + job.name() + "' failed", t);
+                    }
+                }
+                if (System.nanoTime() >= deadline) break;
+            }
+        } finally {
+            running = false;
+            long elapsed = System.nanoTime() - t0;
+            spentThisTick += elapsed;
+            spent.record(elapsed);
+            if (queue.isEmpty()) stopTask();
+            else if (!plugin.isEnabled()) drain(); // shutting down: no more ticks to spread over
+            else if (task == null) task = Bukkit.getScheduler().runTaskTimer(plugin, this::runSlice, 1L, 1L);
+        }
+    }
+
+    private void stopTask() {
+        if (task != null) { task.cancel(); task = null; }
+    }
+}
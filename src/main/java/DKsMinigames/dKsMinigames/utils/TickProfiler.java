@@ -0,0 +1,54 @@
+package DKsMinigames.dKsMinigames.utils;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Per-game timing of tick phases and scheduled game work, one histogram per phase.
+ * Phases show up in the report in the order they were first recorded.
+ */
+public final class TickProfiler {
+    private final Map<String, LatencyHistogram> phases = new LinkedHashMap<>();
+    private long since = System.currentTimeMillis();
+
+    /** Histogram for a phase; hot paths should keep the returned handle. */
+    public LatencyHistogram phase(String name) {
+        return phases.computeIfAbsent(name, k -> new LatencyHistogram());
+    }
+
+    /** Runs {@code work} and records its duration under {@code name}, even if it throws. */
+    public void time(String name, Runnable work) {
+        long t0 = System.nanoTime();
+        try {
+            work.run();
+        } finally {
+            phase(name).record(System.nanoTime() - t0);
+        }
+    }
+
+    public void reset() {
+        phases.values().forEach(LatencyHistogram::reset);
+        since = System.currentTimeMillis();
+    }
+
+    /** One line per phase: count, p50/p95/p99/max in milliseconds. */
+    public List<String> report() {
+        List<String> out = new ArrayList<>(phases.size() + 1);
+        out.add("Since " + ((System.currentTimeMillis() - since) / 1000) + "s ago:");
+        for (var e : phases.entrySet()) {
+            LatencyHistogram h = e.getValue();
+            if (h.count() == 0) continue;
+            out.add(String.format(Locale.ROOT, "%s n=%d p50=%s p95=%s p99=%s max=%s",
+                    e.getKey(), h.count(),
+                    ms(h.percentile(0.50)), ms(h.percentile(0.95)), ms(h.percentile(0.99)), ms(h.max())));
+        }
+        return out;
+    }
+
+    private static String ms(long nanos) {
+        return String.format(Locale.ROOT, "%.3fms", nanos / 1_000_000.0);
+    }
+}
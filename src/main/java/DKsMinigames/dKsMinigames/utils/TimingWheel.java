@@ -0,0 +1,149 @@
+package DKsMinigames.dKsMinigames.utils;
+
+import org.bukkit.Bukkit;
+import org.bukkit.plugin.Plugin;
+import org.bukkit.scheduler.BukkitTask;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.logging.Level;
+
+/**
+ * Hashed timing wheel for one game's delayed and repeating work, advanced once per server tick.
+ * Timers hash into {@value #SLOTS} slots by deadline (longer delays simply lap the wheel), so
+ * scheduling and {@link Timer#cancel()} are O(1) and {@link #clear()} drops everything at once.
+ * Like {@link TickBudget}, it holds a single Bukkit task, and only while timers are pending.
+ * Main thread only.
+ */
+public final class TimingWheel {
+    private static final int SLOTS = 512;
+    private static final int MASK = SLOTS - 1;
+
+    /** Handle for a scheduled callback; cancelling a fired or cancelled timer is a no-op. */
+    public final class Timer {
+        private final Runnable task;
+        private final long period; // 0 = one-shot
+        private long deadline;
+        private Timer prev, next;
+        private boolean linked;    // sitting in a slot
+        private boolean cancelled;
+        private boolean fired;     // one-shot that has run
+
+        private Timer(Runnable task, long period) { this.task = task; this.period = period; }
+
+        public boolean isActive() { return !cancelled && !fired; }
+
+        public void cancel() {
+            cancelled = true;
+            if (linked) unlink(this);
+        }
+    }
+
+    private final Plugin plugin;
+    private final LatencyHistogram spent;
+    private final Timer[] heads = new Timer[SLOTS];
+    private final List<Timer> due = new ArrayList<>();
+    private long now = 0;
+    private int size = 0;
+    private BukkitTask driver;
+
+    public TimingWheel(Plugin plugin, TickProfiler profiler) {
+        this.plugin = plugin;
+        this.spent = profiler.phase("timers");
+    }
+
+    /** Run {@code task} once after {@code delayTicks} (at least one tick). */
+    public Timer after(long delayTicks, Runnable task) {
+        return arm(new Timer(task, 0), delayTicks);
+    }
+
+    /** Run {@code task} after {@code delayTicks}, then every {@code periodTicks} until cancelled. */
+    public Timer every(long delayTicks, long periodTicks, Runnable task) {
+        return arm(new Timer(task, Math.max(1, periodTicks)), delayTicks);
+    }
+
+    public int pending() { return size; }
+
+    /** Cancel every pending timer, including any not yet run in the tick being processed. */
+    public void clear() {
+        for (int i = 0; i < SLOTS; i++) {
+            for (Timer t = heads[i]; t != null; ) {
+                Timer n = t.next;
+                t.cancelled = true;
+                t.linked = false;
+                t.prev = t.next = null;
+                t = n;
+            }
+            heads[i] = null;
+        }
+        for (Timer t : due) t.cancelled = true;
+        size = 0;
+        stopDriver();
+    }
+
+    /** Advance one tick and run whatever fell due. Normally called by the wheel's own task. */
+    public void advance() {
+        long t0 = System.nanoTime();
+        now++;
+
+        // Detach what is due first: callbacks may schedule into, or cancel from, this slot.
+        for (Timer t = heads[(int) (now & MASK)]; t != null; ) {
+            Timer n = t.next;
+            if (t.deadline <= now) {
+                unlink(t);
+                due.add(t);
+            }
+            t = n;
+        }
+
+        for (int i = 0; i < due.size(); i++) {
+            Timer t = due.get(i);
+            if (t.cancelled) continue; // by an earlier callback, or a clear()
+            try {
+                t.task.run();
+            } catch (Throwable ex) {
+                plugin.getLogger().log(Level.SEVERE, "[TimingWheel] Timer failed", ex);
+            }
+            if (t.period == 0) t.fired = true;
+            else if (!t.cancelled) arm(t, t.period);
+        }
+        due.clear();
+        spent.record(System.nanoTime() - t0);
+
+        if (size == 0) stopDriver();
+    }
+
+    // ===== internals =====
+
+    private Timer arm(Timer t, long delayTicks) {
+        t.deadline = now + Math.max(1, delayTicks);
+        int slot = (int) (t.deadline & MASK);
+        t.prev = null;
+        t.next = heads[slot];
+        if (t.next != null) t.next.prev = t;
+        heads[slot] = t;
+        t.linked = true;
+        size++;
+        startDriver();
+        return t;
+    }
+
+    private void unlink(Timer t) {
+        if (t.prev != null) t.prev.next = t.next;
+        else heads[(int) (t.deadline & MASK)] = t.next;
+        if (t.next != null) t.next.prev = t.prev;
+        t.prev = t.next = null;
+        t.linked = false;
+        size--;
+    }
+
+    private void startDriver() {
+        if (driver == null && plugin.isEnabled()) {
+            driver = Bukkit.getScheduler().runTaskTimer(plugin, this::advance, 1L, 1L);
+        }
+    }
+
+    private void stopDriver() {
+        if (driver != null) { driver.cancel(); driver = null; }
+    }
+}
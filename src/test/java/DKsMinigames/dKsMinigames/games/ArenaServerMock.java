@@ -0,0 +1,87 @@
+package DKsMinigames.dKsMinigames.games;
+
+import io.papermc.paper.scoreboard.numbers.NumberFormat;
+import net.kyori.adventure.text.Component;
+import org.bukkit.Location;
+import org.bukkit.entity.LightningStrike;
+import org.bukkit.scoreboard.Criteria;
+import org.bukkit.scoreboard.Objective;
+import org.bukkit.scoreboard.RenderType;
+import org.mockbukkit.mockbukkit.ServerMock;
+import org.mockbukkit.mockbukkit.scoreboard.ObjectiveMock;
+import org.mockbukkit.mockbukkit.scoreboard.ScoreboardManagerMock;
+import org.mockbukkit.mockbukkit.scoreboard.ScoreboardMock;
+import org.mockbukkit.mockbukkit.world.WorldMock;
+
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * MockBukkit server for driving the real games. Only the calls the games make that MockBukkit
+ * leaves unimplemented are filled in (sidebar number formats, explosions, lightning effects),
+ * all as no-ops; everything else is plain MockBukkit.
+ */
+final class ArenaServerMock extends ServerMock {
+    private final ScoreboardManagerMock scoreboards = new ScoreboardManagerMock() {
+        @Override
+        public ScoreboardMock getNewScoreboard() { return new Board(); }
+    };
+
+    @Override
+    public ScoreboardManagerMock getScoreboardManager() { return scoreboards; }
+
+    /** The config's hub and arena world: MockBukkit's flat world under the name config.yml expects. */
+    static final class ArenaWorld extends WorldMock {
+        ArenaWorld() { setName("world"); }
+
+        // Cosmetic only (FX on elimination); no blocks are broken.
+        @Override
+        public boolean createExplosion(double x, double y, double z, float power, boolean setFire, boolean breakBlocks) { return false; }
+
+        @Override
+        public LightningStrike strikeLightningEffect(Location loc) { return null; }
+    }
+
+    /** Per-viewer board whose objectives accept a number format. */
+    private static final class Board extends ScoreboardMock {
+        private final Map<String, ObjectiveMock> sidebars = new HashMap<>();
+
+        @Override
+        public ObjectiveMock registerNewObjective(String name, Criteria criteria, Component displayName, RenderType renderType) {
+            if (getObjective(name) != null) throw new IllegalArgumentException("An objective of name '" + name + "' already exists");
+            ObjectiveMock o = new ObjectiveMock(this, name, displayName, criteria, renderType) {
+                @Override
+                public void numberFormat(NumberFormat format) {}
+            };
+            sidebars.put(name, o);
+            return o;
+        }
+
+        @Override
+        public ObjectiveMock getObjective(String name) {
+            ObjectiveMock o = sidebars.get(name);
+            return o != null ? o : super.getObjective(name);
+        }
+
+        @Override
+        public Set<Objective> getObjectives() {
+            Set<Objective> all = new HashSet<>(super.getObjectives());
+            all.addAll(sidebars.values());
+            return all;
+        }
+
+        @Override
+        public void resetScores(String entry) {
+            super.resetScores(entry);
+            for (ObjectiveMock o : sidebars.values()) o.getScore(entry).resetScore();
+        }
+
+        @Override
+        protected void unregister(ObjectiveMock objective) {
+            sidebars.values().remove(objective);
+            super.unregister(objective);
+        }
+    }
+}
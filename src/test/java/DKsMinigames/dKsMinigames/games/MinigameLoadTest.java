@@ -0,0 +1,168 @@
+package DKsMinigames.dKsMinigames.games;
+
+import DKsMinigames.dKsMinigames.DKsMinigames;
+import DKsMinigames.dKsMinigames.utils.ConfigSnapshot;
+import DKsMinigames.dKsMinigames.utils.LatencyHistogram;
+import org.bukkit.Location;
+import org.bukkit.Material;
+import org.bukkit.World;
+import org.bukkit.inventory.ItemStack;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.mockbukkit.mockbukkit.MockBukkit;
+import org.mockbukkit.mockbukkit.ServerMock;
+import org.mockbukkit.mockbukkit.entity.PlayerMock;
+
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.ThreadLocalRandom;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Load test: bot players join a real BlockParty or ElectricFloor on a mock server and play it
+ * through countdown, rounds, eliminations, end and the next match for a fixed number of ticks.
+ * The game's own tick histogram must stay inside one server tick at every bot count.
+ */
+class MinigameLoadTest {
+    private static final int TICKS = 2_400;              // two minutes of game time
+    private static final long TICK_NANOS = 50_000_000L;  // one server tick
+    private static final int SEARCH_RADIUS = 3;          // how far a BlockParty bot "looks" for the colour
+    private static final double SEEK_CHANCE = 0.1;       // per tick, so most bots find it before the collapse
+
+    /** One bot's move for the tick; the bot is a player on the floor of a running match. */
+    private interface Bot {
+        void move(PlayerMock p, ConfigSnapshot.Floor f);
+    }
+
+    private ServerMock server;
+    private DKsMinigames plugin;
+
+    @BeforeEach
+    void setUp() {
+        server = MockBukkit.mock(new ArenaServerMock());
+        server.addWorld(new ArenaServerMock.ArenaWorld()); // before the plugin, so the config resolves to it
+        plugin = MockBukkit.load(DKsMinigames.class);
+    }
+
+    @AfterEach
+    void tearDown() {
+        MockBukkit.unmock();
+    }
+
+    @ParameterizedTest
+    @ValueSource(ints = { 10, 100 })
+    void blockPartyTicksFitInATick(int bots) {
+        run(game("BlockParty"), bots, MinigameLoadTest::blockParty);
+    }
+
+    @ParameterizedTest
+    @ValueSource(ints = { 10, 100 })
+    void electricFloorTicksFitInATick(int bots) {
+        run(game("ElectricFloor"), bots, (p, f) -> { if (!fall(p, f)) wander(p, f, 0.3); });
+    }
+
+    // ===== Harness =====
+    private Minigame game(String name) {
+        for (MinigameGroup g : plugin.minigames()) {
+            if (g.name().equals(name)) return g.instances().getFirst();
+        }
+        throw new IllegalStateException("No game " + name);
+    }
+
+    private void run(Minigame game, int count, Bot bot) {
+        List<PlayerMock> bots = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            PlayerMock p = server.addPlayer("bot" + i);
+            assertTrue(game.join(p, true), "bot" + i + " could not join");
+            bots.add(p);
+        }
+        assertEquals(count, game.playerCount());
+        ConfigSnapshot.Floor floor = game.getConfigHelper().getArena(game.name(), game.arena()).floor();
+        game.profiler().reset();
+
+        var threads = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        long a0 = threads.getCurrentThreadAllocatedBytes();
+        Minigame.State last = null;
+        int matches = 0;
+        for (int t = 0; t < TICKS; t++) {
+            Minigame.State now = game.state();
+            if (now == Minigame.State.LOBBY && last != Minigame.State.LOBBY) game.start(); // next match
+            if (now == Minigame.State.RUNNING) {
+                if (last != Minigame.State.RUNNING) matches++;
+                for (PlayerMock p : bots) {
+                    if (game.players().contains(p.getUniqueId())) bot.move(p, floor);
+                }
+            }
+            last = now;
+            server.getScheduler().performOneTick();
+        }
+        long allocated = threads.getCurrentThreadAllocatedBytes() - a0;
+
+        LatencyHistogram tick = game.profiler().phase("tick");
+        System.out.println(game.id() + " with " + count + " bots, " + TICKS + " ticks, " + matches + " match(es):");
+        game.profiler().report().forEach(line -> System.out.println("  " + line));
+        System.out.println(String.format(Locale.ROOT, "  main thread (bots and scheduler included) allocated %.1f KB/tick",
+                allocated / 1024.0 / TICKS));
+
+        assertTrue(matches > 0, "no match started");
+        assertTrue(tick.count() > 0, "the game never ticked");
+        assertTrue(tick.percentile(0.99) < TICK_NANOS,
+                () -> "p99 tick over " + TICK_NANOS / 1_000_000 + "ms:\n" + String.join("\n", game.profiler().report()));
+    }
+
+    // ===== Bots =====
+
+    // Runs for the round's colour (the item in slot 4) now and then, otherwise mills about.
+    private static void blockParty(PlayerMock p, ConfigSnapshot.Floor f) {
+        if (fall(p, f)) return;
+        ItemStack held = p.getInventory().getItem(4);
+        if (held != null && ThreadLocalRandom.current().nextDouble() < SEEK_CHANCE) seek(p, f, held.getType());
+        else wander(p, f, 0.25);
+    }
+
+    // Nearest tile of the colour within reach, like a player running for it.
+    private static void seek(PlayerMock p, ConfigSnapshot.Floor f, Material keep) {
+        Location l = p.getLocation();
+        World w = f.world();
+        int bx = l.getBlockX(), bz = l.getBlockZ();
+        for (int d = 0; d <= SEARCH_RADIUS; d++) {
+            for (int x = Math.max(f.minX(), bx - d); x <= Math.min(f.maxX(), bx + d); x++) {
+                for (int z = Math.max(f.minZ(), bz - d); z <= Math.min(f.maxZ(), bz + d); z++) {
+                    if (Math.abs(x - bx) != d && Math.abs(z - bz) != d) continue; // ring only
+                    if (w.getBlockAt(x, f.y(), z).getType() == keep) {
+                        l.setX(x + 0.5);
+                        l.setZ(z + 0.5);
+                        p.setLocation(l);
+                        return;
+                    }
+                }
+            }
+        }
+    }
+
+    /** One random-walk step, staying over the floor. */
+    private static void wander(PlayerMock p, ConfigSnapshot.Floor f, double speed) {
+        var r = ThreadLocalRandom.current();
+        Location l = p.getLocation();
+        l.setX(Math.clamp(l.getX() + (r.nextDouble() * 2 - 1) * speed, f.minX(), f.maxX() + 0.99));
+        l.setZ(Math.clamp(l.getZ() + (r.nextDouble() * 2 - 1) * speed, f.minZ(), f.maxZ() + 0.99));
+        p.setLocation(l);
+    }
+
+    /** Drops the bot a block if nothing is under it (no physics on a mock server); true if it fell. */
+    private static boolean fall(PlayerMock p, ConfigSnapshot.Floor f) {
+        Location l = p.getLocation();
+        boolean standing = l.getBlockY() == f.y() + 1
+                && !f.world().getBlockAt(l.getBlockX(), f.y(), l.getBlockZ()).getType().isAir();
+        if (standing) return false;
+        l.setY(l.getY() - 1);
+        p.setLocation(l);
+        return true;
+    }
+}